@@ -0,0 +1,46 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caché de lecturas por ID de los servicios. Los put y evict se difieren hasta que la
+ * transacción confirma, así una lectura nunca ve datos de una transacción que luego se revierte.
+ * Un lector que cargó la fila antes de un commit no puede volver a guardarla después de la invalidación
+ * (ver {@link CacheLecturas}); el único caso sin cubrir es una escritura fuera de los servicios, que
+ * queda visible como mucho durante {@code app.cache.lecturas.ttl}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CACHE_EMPLEADOS = "empleados";
+    public static final String CACHE_DEPARTAMENTOS = "departamentos";
+    public static final String CACHE_PROYECTOS = "proyectos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.lecturas.maximo:10000}") long maximo,
+                                     @Value("${app.cache.lecturas.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(CACHE_EMPLEADOS, CACHE_DEPARTAMENTOS, CACHE_PROYECTOS) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CacheLecturas(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximo)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        caffeine.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cierra la carrera entre una lectura y una invalidación: un lector que no encontró la entrada lee la fila
+ * vieja, la escritura confirma e invalida, y recién después el lector guarda lo que leyó. Cada fallo recuerda
+ * cuántas invalidaciones había para esa clave; si al guardar hubo alguna más, el valor puede ser anterior a
+ * un commit y no se guarda. @Cacheable hace get y put en el mismo hilo (el put, tras el commit del lector).
+ */
+class CacheLecturas implements Cache {
+
+    // Contadores por franja de claves: una invalidación solo descarta las cargas de claves de su franja
+    private static final int FRANJAS = 1024;
+
+    private final Cache destino;
+    private final AtomicLongArray invalidacionesPorFranja = new AtomicLongArray(FRANJAS);
+    private final AtomicLong vaciados = new AtomicLong();
+    // Último fallo del hilo: la clave y las invalidaciones vistas en ese momento
+    private final ThreadLocal<Fallo> ultimoFallo = new ThreadLocal<>();
+
+    CacheLecturas(Cache destino) {
+        this.destino = destino;
+    }
+
+    @Override
+    public String getName() {
+        return destino.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return destino.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        // Se toma antes de consultar: una invalidación entre ambos pasos también descarta el put
+        long invalidaciones = invalidaciones(key);
+        ValueWrapper valor = destino.get(key);
+        if (valor == null) {
+            ultimoFallo.set(new Fallo(key, invalidaciones));
+        }
+        return valor;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return destino.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return destino.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return destino.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return destino.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Fallo fallo = ultimoFallo.get();
+        ultimoFallo.remove();
+        if (fallo != null && fallo.clave().equals(key) && fallo.invalidaciones() != invalidaciones(key)) {
+            return;
+        }
+        destino.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return destino.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidacionesPorFranja.incrementAndGet(franja(key));
+        destino.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidacionesPorFranja.incrementAndGet(franja(key));
+        return destino.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        vaciados.incrementAndGet();
+        destino.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        vaciados.incrementAndGet();
+        return destino.invalidate();
+    }
+
+    // Ambos contadores solo crecen: la suma cambia si cambió cualquiera de los dos
+    private long invalidaciones(Object key) {
+        return invalidacionesPorFranja.get(franja(key)) + vaciados.get();
+    }
+
+    private static int franja(Object key) {
+        return Math.floorMod(key.hashCode(), FRANJAS);
+    }
+
+    private record Fallo(Object clave, long invalidaciones) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/consultas: totales de Hibernate, las consultas con mayor tiempo máximo, cargas por
+ * entidad y las consultas cuyo tiempo máximo alcanzó el umbral. Cada ejecución lenta, con su
+ * momento, queda en el logger org.hibernate.SQL_SLOW. DELETE reinicia los contadores.
+ */
+@Endpoint(id = "consultas")
+public class ConsultasEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final long umbralMs;
+    private final int limite;
+
+    public ConsultasEndpoint(EntityManagerFactory entityManagerFactory, long umbralMs, int limite) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.umbralMs = umbralMs;
+        this.limite = limite;
+    }
+
+    @ReadOperation
+    public Resumen resumen() {
+        Statistics estadisticas = estadisticas();
+
+        List<Consulta> todas = Arrays.stream(estadisticas.getQueries())
+                .map(consulta -> Consulta.desde(consulta, estadisticas.getQueryStatistics(consulta)))
+                .sorted(Comparator.comparingLong(Consulta::maximoMs).reversed())
+                .toList();
+        List<Consulta> lentas = todas.stream().filter(consulta -> consulta.maximoMs() >= umbralMs).toList();
+        Map<String, Entidad> porEntidad = new LinkedHashMap<>();
+        for (String nombre : estadisticas.getEntityNames()) {
+            EntityStatistics entidad = estadisticas.getEntityStatistics(nombre);
+            porEntidad.put(nombre, new Entidad(entidad.getLoadCount(), entidad.getFetchCount()));
+        }
+
+        return new Resumen(
+                estadisticas.isStatisticsEnabled(),
+                umbralMs,
+                estadisticas.getPrepareStatementCount(),
+                estadisticas.getQueryExecutionCount(),
+                estadisticas.getQueryExecutionMaxTime(),
+                estadisticas.getEntityLoadCount(),
+                estadisticas.getEntityFetchCount(),
+                estadisticas.getCollectionLoadCount(),
+                estadisticas.getCollectionFetchCount(),
+                todas.stream().limit(limite).toList(),
+                porEntidad,
+                lentas.size(),
+                lentas.stream().limit(limite).toList());
+    }
+
+    @DeleteOperation
+    public void reiniciar() {
+        estadisticas().clear();
+    }
+
+    private Statistics estadisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record Resumen(boolean habilitadas,
+                          long umbralMs,
+                          long sentenciasPreparadas,
+                          long consultasEjecutadas,
+                          long consultaMasLentaMs,
+                          long entidadesCargadas,
+                          long entidadesBuscadas,
+                          long coleccionesCargadas,
+                          long coleccionesBuscadas,
+                          List<Consulta> consultas,
+                          Map<String, Entidad> entidades,
+                          long consultasLentas,
+                          List<Consulta> lentas) {
+    }
+
+    public record Consulta(String consulta, long ejecuciones, long filas, long promedioMs, long maximoMs) {
+
+        static Consulta desde(String consulta, QueryStatistics estadisticas) {
+            return new Consulta(consulta, estadisticas.getExecutionCount(), estadisticas.getExecutionRowCount(),
+                    estadisticas.getExecutionAvgTime(), estadisticas.getExecutionMaxTime());
+        }
+    }
+
+    public record Entidad(long cargas, long busquedas) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conexiones para las transacciones de solo lectura: reparte entre las réplicas en ronda y, si una no
+ * entrega conexión, la saltea durante {@code reintento} y prueba la siguiente. Sin ninguna réplica
+ * disponible, la conexión sale de la primaria.
+ */
+class DataSourceLecturas extends AbstractDataSource implements Closeable {
+
+    private final List<? extends DataSource> replicas;
+    private final DataSource primaria;
+    private final long reintentoNanos;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    // Por réplica, el System.nanoTime() desde el que se vuelve a intentar
+    private final AtomicLongArray disponibleDesde;
+
+    DataSourceLecturas(List<? extends DataSource> replicas, DataSource primaria, Duration reintento) {
+        this.replicas = List.copyOf(replicas);
+        this.primaria = primaria;
+        this.reintentoNanos = reintento.toNanos();
+        this.disponibleDesde = new AtomicLongArray(replicas.size());
+        long ahora = System.nanoTime();
+        for (int i = 0; i < replicas.size(); i++) {
+            disponibleDesde.set(i, ahora);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int cantidad = replicas.size();
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int indice = (inicio + i) % cantidad;
+            long ahora = System.nanoTime();
+            if (ahora - disponibleDesde.get(indice) < 0) {
+                continue;
+            }
+            try {
+                return replicas.get(indice).getConnection();
+            } catch (SQLException e) {
+                disponibleDesde.set(indice, ahora + reintentoNanos);
+            }
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales de su configuración");
+    }
+
+    // Los pools de las réplicas son de este DataSource; el de la primaria es un bean aparte
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable cerrable) {
+                try {
+                    cerrable.close();
+                } catch (Exception ignorada) {
+                    // Se intenta cerrar las demás igual
+                }
+            }
+        }
+    }
+}
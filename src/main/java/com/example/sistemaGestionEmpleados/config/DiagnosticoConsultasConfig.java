@@ -0,0 +1,35 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instrumentación de consultas opcional (perfil diagnostico): estadísticas de Hibernate, log de
+ * consultas lentas (logger org.hibernate.SQL_SLOW) y el endpoint /actuator/consultas.
+ * Reemplaza a show-sql, que imprime todas las sentencias y no sirve fuera de desarrollo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.consultas-lentas.habilitado", havingValue = "true")
+public class DiagnosticoConsultasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer estadisticasConsultas(@Value("${app.consultas-lentas.umbral-ms:100}") long umbralMs) {
+        // Solo configuración pública de Hibernate: cada ejecución lenta va al log y los tiempos por consulta a Statistics
+        return propiedades -> {
+            propiedades.put(AvailableSettings.GENERATE_STATISTICS, true);
+            propiedades.put(AvailableSettings.LOG_SLOW_QUERY, umbralMs);
+        };
+    }
+
+    @Bean
+    public ConsultasEndpoint consultasEndpoint(EntityManagerFactory entityManagerFactory,
+                                               @Value("${app.consultas-lentas.umbral-ms:100}") long umbralMs,
+                                               @Value("${app.consultas-lentas.capacidad:50}") int capacidad) {
+        return new ConsultasEndpoint(entityManagerFactory, umbralMs, capacidad);
+    }
+}
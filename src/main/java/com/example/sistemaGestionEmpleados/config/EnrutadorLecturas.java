@@ -0,0 +1,30 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Elige el DataSource según la transacción en curso: las de solo lectura van a las réplicas y el
+ * resto (y el código sin transacción) a la primaria. Funciona detrás de un LazyConnectionDataSourceProxy:
+ * el marcador de solo lectura se publica después de que la transacción empieza, y el proxy demora
+ * la conexión real hasta la primera sentencia.
+ */
+class EnrutadorLecturas extends AbstractRoutingDataSource {
+
+    private static final String PRIMARIA = "primaria";
+    private static final String REPLICAS = "replicas";
+
+    EnrutadorLecturas(DataSource primaria, DataSource replicas) {
+        setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICAS, replicas));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICAS : PRIMARIA;
+    }
+}
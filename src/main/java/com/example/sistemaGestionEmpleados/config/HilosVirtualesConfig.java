@@ -0,0 +1,52 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Controles que solo aplican con hilos virtuales (spring.threads.virtual.enabled, perfil virtual).
+ * <p>
+ * Un hilo virtual que se bloquea dentro de un bloque synchronized queda fijado a su hilo portador
+ * (pinning) y deja de liberar el portador mientras espera la red. Los drivers JDBC viejos hacen la
+ * E/S de sockets dentro de synchronized, así que con ellos unos pocos pedidos lentos bloquean a todos
+ * los demás. MySQL Connector/J desde la 9.0 y el driver de PostgreSQL desde la 42.6 usan locks en su
+ * lugar; con versiones anteriores la aplicación no arranca en este modo.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    @Bean
+    public ApplicationRunner verificarDriverSinPinning(DataSource dataSource) {
+        return argumentos -> {
+            try (Connection conexion = dataSource.getConnection()) {
+                DatabaseMetaData metadatos = conexion.getMetaData();
+                String driver = metadatos.getDriverName();
+                int mayor = metadatos.getDriverMajorVersion();
+                int menor = metadatos.getDriverMinorVersion();
+                if (!soportaHilosVirtuales(driver, mayor, menor)) {
+                    throw new IllegalStateException("El driver " + driver + " " + metadatos.getDriverVersion()
+                            + " bloquea hilos virtuales (pinning); actualizarlo o ejecutar sin el perfil virtual");
+                }
+            }
+        };
+    }
+
+    static boolean soportaHilosVirtuales(String driver, int mayor, int menor) {
+        if (driver.startsWith("MySQL Connector")) {
+            return mayor >= 9;
+        }
+        if (driver.startsWith("PostgreSQL")) {
+            return mayor > 42 || (mayor == 42 && menor >= 6);
+        }
+        // H2 embebido no hace E/S de red: sus bloques synchronized no esperan a otro proceso
+        return true;
+    }
+}
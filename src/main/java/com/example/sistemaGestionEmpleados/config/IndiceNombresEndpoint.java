@@ -0,0 +1,37 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.example.sistemaGestionEmpleados.services.IndiceNombres;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/indicenombres: GET compara el índice de búsqueda por nombre con la base y lista las diferencias;
+ * POST lo vuelve a cargar desde la base.
+ */
+@Component
+@Endpoint(id = "indicenombres")
+public class IndiceNombresEndpoint {
+
+    private final IndiceNombres indiceNombres;
+
+    public IndiceNombresEndpoint(IndiceNombres indiceNombres) {
+        this.indiceNombres = indiceNombres;
+    }
+
+    @ReadOperation
+    public IndiceNombres.Verificacion verificar() {
+        return indiceNombres.verificar();
+    }
+
+    @WriteOperation
+    public Reconstruccion reconstruir() {
+        long inicio = System.nanoTime();
+        int empleados = indiceNombres.reconstruir();
+        return new Reconstruccion(empleados, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public record Reconstruccion(int empleados, long duracionMs) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.services.IndiceSalarios;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Índice de salarios en memoria opcional: con él, los rangos y conteos por salario de EmpleadoService
+ * se resuelven sin comparar BigDecimal en la base. Agrega el endpoint /actuator/indicesalarios.
+ * Sin la propiedad, los servicios consultan la base como siempre.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.indice-salarios.habilitado", havingValue = "true")
+public class IndiceSalariosConfig {
+
+    @Bean
+    public IndiceSalarios indiceSalarios(EmpleadoRepository empleadoRepository,
+                                         PlatformTransactionManager transactionManager) {
+        return new IndiceSalarios(empleadoRepository, transactionManager);
+    }
+
+    @Bean
+    public IndiceSalariosEndpoint indiceSalariosEndpoint(IndiceSalarios indiceSalarios) {
+        return new IndiceSalariosEndpoint(indiceSalarios);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.example.sistemaGestionEmpleados.services.IndiceSalarios;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * /actuator/indicesalarios: GET compara el índice de salarios con la base y lista las diferencias;
+ * POST lo vuelve a cargar desde la base.
+ */
+@Endpoint(id = "indicesalarios")
+public class IndiceSalariosEndpoint {
+
+    private final IndiceSalarios indiceSalarios;
+
+    public IndiceSalariosEndpoint(IndiceSalarios indiceSalarios) {
+        this.indiceSalarios = indiceSalarios;
+    }
+
+    @ReadOperation
+    public IndiceSalarios.Verificacion verificar() {
+        return indiceSalarios.verificar();
+    }
+
+    @WriteOperation
+    public Reconstruccion reconstruir() {
+        long inicio = System.nanoTime();
+        int empleados = indiceSalarios.reconstruir();
+        return new Reconstruccion(empleados, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public record Reconstruccion(int empleados, long duracionMs) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers de Micrometer alrededor de cada método de controladores y servicios, con tags
+ * entidad (empleado, departamento, proyecto), operacion (nombre del método) y resultado
+ * (ok o la excepción lanzada). Los repositorios ya se miden con spring.data.repository.invocations.
+ * <p>
+ * El Timer de cada método se resuelve una sola vez y se guarda, así cada llamada solo suma
+ * dos lecturas de reloj y un registro en el Timer.
+ */
+@Aspect
+@Component
+public class MetricasCapas {
+
+    public static final String METRICA_CONTROLADORES = "app.controlador";
+    public static final String METRICA_SERVICIOS = "app.servicio";
+    private static final String RESULTADO_OK = "ok";
+
+    private final MeterRegistry registro;
+    private final Map<Method, Timer> controladores = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> servicios = new ConcurrentHashMap<>();
+
+    public MetricasCapas(MeterRegistry registro) {
+        this.registro = registro;
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object medirControlador(ProceedingJoinPoint punto) throws Throwable {
+        return medir(punto, METRICA_CONTROLADORES, controladores);
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object medirServicio(ProceedingJoinPoint punto) throws Throwable {
+        return medir(punto, METRICA_SERVICIOS, servicios);
+    }
+
+    private Object medir(ProceedingJoinPoint punto, String metrica, Map<Method, Timer> timers) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = punto.proceed();
+            Method metodo = ((MethodSignature) punto.getSignature()).getMethod();
+            timers.computeIfAbsent(metodo, m -> timer(metrica, punto, RESULTADO_OK))
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            // Los errores son poco frecuentes: se resuelve el Timer en el registro en cada caso
+            timer(metrica, punto, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(String metrica, ProceedingJoinPoint punto, String resultado) {
+        return Timer.builder(metrica)
+                .tag("entidad", entidad(punto.getSignature().getDeclaringType()))
+                .tag("operacion", punto.getSignature().getName())
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+
+    // EmpleadoServiceImpl, EmpleadoService y EmpleadoController -> empleado
+    private static String entidad(Class<?> tipo) {
+        String nombre = tipo.getSimpleName().replaceFirst("(ServiceImpl|Service|Controller)$", "");
+        return nombre.isEmpty() ? tipo.getSimpleName() : Character.toLowerCase(nombre.charAt(0)) + nombre.substring(1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura opcionales: las transacciones readOnly (las consultas de los servicios) toman la
+ * conexión de una de las réplicas de app.replicas.urls y el resto va a la primaria de spring.datasource.
+ * Sin la propiedad, todo usa el único pool que arma Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.replicas.habilitado", havingValue = "true")
+public class ReplicasLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+        HikariDataSource primaria = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName("primaria");
+        return primaria;
+    }
+
+    @Bean
+    public DataSourceLecturas dataSourceLecturas(HikariDataSource dataSourcePrimaria,
+                                                 Environment environment,
+                                                 @Value("${app.replicas.usuario:}") String usuario,
+                                                 @Value("${app.replicas.password:}") String password,
+                                                 @Value("${app.replicas.reintento:30s}") Duration reintento,
+                                                 @Value("${app.replicas.timeout-conexion:2s}") Duration timeoutConexion) {
+        List<String> urls = Binder.get(environment)
+                .bind("app.replicas.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("app.replicas.habilitado requiere al menos una URL en app.replicas.urls");
+        }
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            replica.setUsername(usuario.isEmpty() ? dataSourcePrimaria.getUsername() : usuario);
+            replica.setPassword(usuario.isEmpty() ? dataSourcePrimaria.getPassword() : password);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(dataSourcePrimaria.getMaximumPoolSize());
+            // Una réplica caída no frena el arranque ni retiene la consulta: se pasa a la siguiente o a la primaria
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(timeoutConexion.toMillis());
+            replicas.add(replica);
+        }
+        return new DataSourceLecturas(replicas, dataSourcePrimaria, reintento);
+    }
+
+    // El proxy demora la conexión real hasta la primera sentencia, cuando ya se sabe si la transacción es readOnly
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimaria, DataSourceLecturas dataSourceLecturas) {
+        return new LazyConnectionDataSourceProxy(new EnrutadorLecturas(dataSourcePrimaria, dataSourceLecturas));
+    }
+
+    // Con open-in-view la sesión dura todo el pedido: sin esto, una escritura posterior a una lectura
+    // reutilizaría la conexión de la réplica que la sesión retuvo
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexionAlTerminarTransaccion() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
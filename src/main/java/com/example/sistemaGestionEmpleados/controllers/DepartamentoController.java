@@ -1,7 +1,13 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoParcial;
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ReporteDepartamento;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.services.DepartamentoService;
+import com.example.sistemaGestionEmpleados.services.ReporteDepartamentoService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +19,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,41 +30,117 @@ import java.util.List;
 public class DepartamentoController {
 
     private DepartamentoService departamentoService;
+    private ReporteDepartamentoService reporteDepartamentoService;
 
-    public DepartamentoController(DepartamentoService departamentoService) {
+    public DepartamentoController(DepartamentoService departamentoService,
+                                  ReporteDepartamentoService reporteDepartamentoService) {
         this.departamentoService = departamentoService;
+        this.reporteDepartamentoService = reporteDepartamentoService;
     }
 
     /**
      * Javadoc: Obtiene una lista completa de todos los departamentos existentes.
-     * @return Una lista de objetos Departamento.
+     * Cada elemento incluye la cantidad de empleados; la lista de empleados está en el detalle por ID.
+     * Con If-None-Match responde 304 si la lista no cambió.
+     * @param request La petición, para comparar su If-None-Match con el ETag del listado.
+     * @return Una lista de resúmenes de departamentos.
      */
     @Operation(summary = "Obtener todos los departamentos", description = "Devuelve una lista con todos los departamentos.")
-    @ApiResponse(responseCode = "200", description = "Lista de departamentos obtenida con éxito")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de departamentos obtenida con éxito"),
+            @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag enviado", content = @Content)
+    })
     @GetMapping
-    public List<Departamento> obtenerTodos() {
+    public List<DepartamentoResumen> obtenerTodos(WebRequest request) {
+        if (request.checkNotModified(departamentoService.obtenerEtagListado())) {
+            return null;
+        }
         return departamentoService.obtenerTodos();
     }
 
+    /**
+     * Javadoc: Obtiene una página de departamentos usando paginación por cursor (keyset).
+     * El costo de cada página es el mismo sin importar cuán adelante esté.
+     * @param cursor El cursor devuelto por la página anterior, o vacío para la primera página.
+     * @param tamanio La cantidad de departamentos por página (por defecto 50, máximo 500).
+     * @param orden El campo por el cual ordenar: id o nombre.
+     * @return La página de departamentos junto con el cursor de la página siguiente.
+     */
+    @Operation(summary = "Obtener departamentos paginados por cursor",
+            description = "Devuelve una página de departamentos y un cursor opaco para pedir la siguiente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida con éxito"),
+            @ApiResponse(responseCode = "400", description = "Cursor, tamaño u orden inválido", content = @Content)
+    })
+    @GetMapping("/pagina")
+    public PaginaCursor<DepartamentoResumen> obtenerPagina(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de elementos por página (máximo 500)") @RequestParam(required = false) Integer tamanio,
+            @Parameter(description = "Campo de ordenamiento: id o nombre") @RequestParam(defaultValue = "id") String orden
+    ) {
+        return departamentoService.obtenerPagina(cursor, tamanio, orden);
+    }
+
+    /**
+     * Javadoc: Obtiene las estadísticas salariales de todos los departamentos en una sola consulta.
+     * @return Una lista con cantidad de empleados, salario mínimo, máximo, promedio y total,
+     * y la fecha de la última contratación de cada departamento.
+     */
+    @Operation(summary = "Obtener estadísticas salariales por departamento",
+            description = "Devuelve cantidad de empleados, mínimo, máximo, promedio y total de salarios y la última contratación de cada departamento.")
+    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas con éxito")
+    @GetMapping("/estadisticas")
+    public List<EstadisticasDepartamento> obtenerEstadisticas() {
+        return departamentoService.obtenerEstadisticasSalariales();
+    }
+
     /**
      * Javadoc: Busca y devuelve un departamento específico por su ID.
+     * La respuesta lleva un ETag; con If-None-Match responde 304 sin cargar el departamento si no cambió.
      * @param id El ID único del departamento a buscar.
+     * @param request La petición, para comparar su If-None-Match con el ETag vigente.
      * @return El objeto Departamento correspondiente al ID.
      */
     @Operation(summary = "Obtener un departamento por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Departamento encontrado",
                     content = @Content(schema = @Schema(implementation = Departamento.class))),
+            @ApiResponse(responseCode = "304", description = "El departamento no cambió desde el ETag enviado",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Departamento no encontrado",
                     content = @Content)
     })
     @GetMapping("/{id}")
     public Departamento obtenerPorId(
-            @Parameter(description = "ID del departamento a obtener", required = true) @PathVariable Long id
+            @Parameter(description = "ID del departamento a obtener", required = true) @PathVariable Long id,
+            WebRequest request
     ) {
+        if (request.checkNotModified(departamentoService.obtenerEtag(id))) {
+            return null;
+        }
         return departamentoService.buscarPorId(id);
     }
 
+    /**
+     * Javadoc: Obtiene el reporte de un departamento en un solo pedido. Sus datos, el salario promedio,
+     * los empleados y los proyectos activos se consultan en paralelo, con un plazo total.
+     * @param id El ID del departamento.
+     * @return El reporte con el resumen del departamento, el salario promedio, sus empleados y sus proyectos activos.
+     */
+    @Operation(summary = "Obtener el reporte de un departamento",
+            description = "Devuelve el resumen del departamento, el salario promedio, sus empleados y los proyectos activos en los que participan.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reporte generado"),
+            @ApiResponse(responseCode = "404", description = "Departamento no encontrado", content = @Content),
+            @ApiResponse(responseCode = "503", description = "El reporte no se completó dentro del plazo", content = @Content)
+    })
+    @GetMapping("/{id}/reporte")
+    public ReporteDepartamento obtenerReporte(
+            @Parameter(description = "ID del departamento", required = true) @PathVariable Long id
+    ) {
+        return reporteDepartamentoService.generar(id);
+    }
+
     /**
      * Javadoc: Crea un nuevo departamento en la base de datos.
      * @param departamento El objeto Departamento a crear, recibido en el cuerpo de la solicitud.
@@ -90,6 +173,28 @@ public class DepartamentoController {
         return departamentoService.actualizar(id, departamento);
     }
 
+    /**
+     * Javadoc: Modifica solo los campos enviados de un departamento, con un único UPDATE y sin leerlo antes.
+     * Los campos ausentes o en null conservan su valor.
+     * @param id El ID del departamento a modificar.
+     * @param cambios Los campos a modificar.
+     */
+    @Operation(summary = "Modificar parcialmente un departamento",
+            description = "Aplica solo los campos presentes en el cuerpo. No devuelve el departamento: su nuevo estado (y ETag) se consulta con GET.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Departamento modificado"),
+            @ApiResponse(responseCode = "400", description = "El cuerpo no trae campos para modificar", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Departamento no encontrado", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(
+            @Parameter(description = "ID del departamento a modificar", required = true) @PathVariable Long id,
+            @RequestBody DepartamentoParcial cambios
+    ) {
+        departamentoService.actualizarParcial(id, cambios);
+    }
+
     /**
      * Javadoc: Elimina un departamento de la base de datos por su ID.
      * @param id El ID del departamento a eliminar.
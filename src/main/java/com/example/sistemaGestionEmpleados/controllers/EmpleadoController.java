@@ -1,7 +1,20 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoExportacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoParcial;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadoImportacion;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
 import com.example.sistemaGestionEmpleados.models.Empleado;
 import com.example.sistemaGestionEmpleados.services.EmpleadoService;
+import com.example.sistemaGestionEmpleados.services.ImportacionEmpleadosService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,51 +22,165 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/empleados")
 @Validated
 @Tag(name = "API de Empleados", description = "Operaciones CRUD y consultas para la gestión de empleados")
 public class EmpleadoController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final EmpleadoService empleadoService;
+    private final ImportacionEmpleadosService importacionService;
+    private final ObjectWriter exportacionWriter;
 
-    public EmpleadoController(EmpleadoService empleadoService) {
+    public EmpleadoController(EmpleadoService empleadoService, ImportacionEmpleadosService importacionService,
+                              ObjectMapper objectMapper) {
         this.empleadoService = empleadoService;
+        this.importacionService = importacionService;
+        // Sin flush por fila: el buffer de la respuesta decide cuándo enviar
+        this.exportacionWriter = objectMapper.writerFor(EmpleadoExportacion.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
      * Javadoc: Recupera una lista de todos los empleados registrados en el sistema.
-     * @return Una lista de objetos Empleado.
+     * Cada elemento es un resumen con los datos del empleado y de su departamento; los proyectos
+     * se consultan en el detalle por ID. Con If-None-Match responde 304 si la lista no cambió.
+     * @param request La petición, para comparar su If-None-Match con el ETag del listado.
+     * @return Una lista de resúmenes de empleados.
      */
     @Operation(summary = "Obtener todos los empleados", description = "Devuelve una lista con todos los empleados.")
-    @ApiResponse(responseCode = "200", description = "Lista de empleados obtenida exitosamente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de empleados obtenida exitosamente"),
+            @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag enviado", content = @Content)
+    })
     @GetMapping
-    public List<Empleado> obtenerTodos() {
+    public List<EmpleadoResumen> obtenerTodos(WebRequest request) {
+        if (request.checkNotModified(empleadoService.obtenerEtagListado())) {
+            return null;
+        }
         return empleadoService.obtenerTodos();
     }
 
+    /**
+     * Javadoc: Obtiene una página de empleados usando paginación por cursor (keyset).
+     * El costo de cada página es el mismo sin importar cuán adelante esté.
+     * @param cursor El cursor devuelto por la página anterior, o vacío para la primera página.
+     * @param tamanio La cantidad de empleados por página (por defecto 50, máximo 500).
+     * @param orden El campo por el cual ordenar: id, salario o fechaContratacion.
+     * @return La página de empleados junto con el cursor de la página siguiente.
+     */
+    @Operation(summary = "Obtener empleados paginados por cursor",
+            description = "Devuelve una página de empleados y un cursor opaco para pedir la siguiente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida con éxito"),
+            @ApiResponse(responseCode = "400", description = "Cursor, tamaño u orden inválido", content = @Content)
+    })
+    @GetMapping("/pagina")
+    public PaginaCursor<EmpleadoResumen> obtenerPagina(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de elementos por página (máximo 500)") @RequestParam(required = false) Integer tamanio,
+            @Parameter(description = "Campo de ordenamiento: id, salario o fechaContratacion") @RequestParam(defaultValue = "id") String orden
+    ) {
+        return empleadoService.obtenerPagina(cursor, tamanio, orden);
+    }
+
+    /**
+     * Javadoc: Busca empleados por nombre o apellido desde un índice en memoria.
+     * Cada palabra de la consulta puede ser un prefijo, sin acentos y con algún error de tipeo.
+     * @param q El texto a buscar, por ejemplo "gonz" o "jose perez". Si falta o está vacío el servicio responde 400.
+     * @param limite La cantidad máxima de resultados (por defecto 20, máximo 100).
+     * @return Los empleados que coinciden, primero los exactos, después por prefijo y al final los aproximados.
+     */
+    @Operation(summary = "Buscar empleados por nombre",
+            description = "Busca por prefijo en nombre y apellido, sin distinguir acentos y tolerando errores de tipeo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda completada"),
+            @ApiResponse(responseCode = "400", description = "Texto vacío o límite inválido", content = @Content)
+    })
+    @GetMapping("/buscar")
+    public List<EmpleadoCoincidencia> buscarPorNombre(
+            @Parameter(description = "Texto a buscar en nombre y apellido; si falta o está vacío responde 400") @RequestParam(required = false) String q,
+            @Parameter(description = "Cantidad máxima de resultados (máximo 100)") @RequestParam(required = false) Integer limite
+    ) {
+        return empleadoService.buscarPorNombre(q, limite);
+    }
+
+    /**
+     * Javadoc: Exporta todos los empleados como NDJSON (un objeto JSON por línea).
+     * Las filas se leen con un cursor y se escriben a medida que llegan, por lo que la memoria
+     * usada no depende del tamaño de la tabla.
+     * @return El cuerpo de la respuesta, escrito de forma asíncrona.
+     */
+    @Operation(summary = "Exportar todos los empleados",
+            description = "Devuelve todos los empleados en formato NDJSON, escritos en streaming.")
+    @ApiResponse(responseCode = "200", description = "Exportación iniciada",
+            content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = EmpleadoExportacion.class)))
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = exportacionWriter.getFactory().createGenerator(salida)) {
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                empleadoService.exportarTodos(fila -> {
+                    try {
+                        exportacionWriter.writeValue(generador, fila);
+                        generador.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(cuerpo);
+    }
+
     /**
      * Javadoc: Busca un empleado específico utilizando su ID único.
+     * La respuesta lleva un ETag; con If-None-Match responde 304 sin cargar el empleado si no cambió.
      * @param id El ID del empleado a buscar.
+     * @param request La petición, para comparar su If-None-Match con el ETag vigente.
      * @return El objeto Empleado correspondiente.
      */
     @Operation(summary = "Obtener un empleado por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Empleado encontrado",
                     content = @Content(schema = @Schema(implementation = Empleado.class))),
+            @ApiResponse(responseCode = "304", description = "El empleado no cambió desde el ETag enviado",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Empleado no encontrado",
                     content = @Content)
     })
     @GetMapping("/{id}")
     public Empleado obtenerPorId(
-            @Parameter(description = "ID del empleado a obtener", required = true) @PathVariable Long id
+            @Parameter(description = "ID del empleado a obtener", required = true) @PathVariable Long id,
+            WebRequest request
     ) {
+        if (request.checkNotModified(empleadoService.obtenerEtag(id))) {
+            return null;
+        }
         return empleadoService.buscarPorId(id);
     }
 
@@ -65,6 +192,7 @@ public class EmpleadoController {
     @Operation(summary = "Crear un nuevo empleado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Empleado creado exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Los datos no cumplen una restricción de la base", content = @Content),
             @ApiResponse(responseCode = "409", description = "Conflicto, el email ya existe", content = @Content)
     })
     @PostMapping
@@ -73,6 +201,61 @@ public class EmpleadoController {
         return empleadoService.guardar(empleado);
     }
 
+    /**
+     * Javadoc: Registra un lote de empleados en una sola petición, insertándolos en batches JDBC.
+     * Los empleados con email vacío, ya registrado o repetido dentro del lote se informan
+     * como errores y no impiden el alta del resto.
+     * @param empleados La lista de empleados a crear.
+     * @return Los IDs creados y los errores por posición dentro del lote.
+     */
+    @Operation(summary = "Crear empleados en lote",
+            description = "Inserta varios empleados a la vez e informa los rechazados por email duplicado.")
+    @ApiResponse(responseCode = "200", description = "Lote procesado")
+    @PostMapping("/batch")
+    public ResultadoLote crearLote(@RequestBody List<Empleado> empleados) {
+        return empleadoService.guardarLote(empleados);
+    }
+
+    /**
+     * Javadoc: Importa empleados desde un archivo CSV, procesándolo en segundo plano de a lotes.
+     * El encabezado debe tener las columnas nombre, apellido, email, fechaContratacion (yyyy-MM-dd)
+     * y salario; la columna departamento es opcional y lleva el nombre del departamento.
+     * Las filas inválidas o con email ya registrado se informan como errores y no frenan al resto.
+     * @param archivo El archivo CSV (separado por comas o punto y coma, en UTF-8).
+     * @return El estado inicial de la importación; la cabecera Location apunta a su estado.
+     */
+    @Operation(summary = "Importar empleados desde CSV",
+            description = "Recibe el archivo y lo procesa en segundo plano. El progreso y los errores se consultan en /api/empleados/import/{id}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Importación aceptada"),
+            @ApiResponse(responseCode = "400", description = "Falta el archivo, está vacío o al encabezado le faltan columnas obligatorias", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Hay demasiadas importaciones en curso", content = @Content)
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EstadoImportacion> importar(@RequestParam(value = "archivo", required = false) MultipartFile archivo) {
+        EstadoImportacion estado = importacionService.iniciar(archivo);
+        URI ubicacion = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(estado.id()).toUri();
+        return ResponseEntity.accepted().location(ubicacion).body(estado);
+    }
+
+    /**
+     * Javadoc: Consulta el avance de una importación CSV: filas leídas, creadas y con error,
+     * bytes procesados y los primeros errores con su número de línea.
+     * @param id El ID devuelto al iniciar la importación.
+     * @return El estado actual de la importación.
+     */
+    @Operation(summary = "Consultar el estado de una importación")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado de la importación"),
+            @ApiResponse(responseCode = "404", description = "Importación no encontrada o ya descartada", content = @Content)
+    })
+    @GetMapping("/import/{id}")
+    public EstadoImportacion obtenerImportacion(
+            @Parameter(description = "ID de la importación", required = true) @PathVariable String id
+    ) {
+        return importacionService.obtenerEstado(id);
+    }
+
     /**
      * Javadoc: Actualiza la información de un empleado existente.
      * @param id El ID del empleado a actualizar.
@@ -92,6 +275,29 @@ public class EmpleadoController {
         return empleadoService.actualizar(id, empleado);
     }
 
+    /**
+     * Javadoc: Modifica solo los campos enviados de un empleado, con un único UPDATE y sin leerlo antes.
+     * Los campos ausentes o en null conservan su valor.
+     * @param id El ID del empleado a modificar.
+     * @param cambios Los campos a modificar.
+     */
+    @Operation(summary = "Modificar parcialmente un empleado",
+            description = "Aplica solo los campos presentes en el cuerpo. No devuelve el empleado: su nuevo estado (y ETag) se consulta con GET.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Empleado modificado"),
+            @ApiResponse(responseCode = "400", description = "El cuerpo no trae campos para modificar", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Empleado o departamento no encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Conflicto, el email ya existe", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(
+            @Parameter(description = "ID del empleado a modificar", required = true) @PathVariable Long id,
+            @RequestBody EmpleadoParcial cambios
+    ) {
+        empleadoService.actualizarParcial(id, cambios);
+    }
+
     /**
      * Javadoc: Elimina un empleado del sistema por su ID.
      * @param id El ID del empleado a eliminar.
@@ -109,15 +315,50 @@ public class EmpleadoController {
         empleadoService.eliminar(id);
     }
 
+    /**
+     * Javadoc: Elimina un lote de empleados por sus IDs, con DELETE por tramos y sin cargarlos.
+     * Antes se quitan sus filas de empleado_proyecto. Los IDs inexistentes se ignoran.
+     * @param ids Los IDs de los empleados a eliminar.
+     * @return Cuántos IDs se recibieron y cuántos empleados se eliminaron efectivamente.
+     */
+    @Operation(summary = "Eliminar un lote de empleados por sus IDs")
+    @ApiResponse(responseCode = "200", description = "Empleados eliminados")
+    @DeleteMapping("/batch")
+    public ResultadoEliminacion eliminarLote(@RequestBody Set<Long> ids) {
+        return empleadoService.eliminarLote(ids);
+    }
+
+    /**
+     * Javadoc: Elimina los empleados que cumplen un filtro (departamento y/o fecha de contratación).
+     * Exige al menos un criterio, para no borrar a todos los empleados por error.
+     * @param departamentoId El ID del departamento de los empleados a eliminar.
+     * @param contratadosAntesDe Se eliminan los empleados contratados antes de esta fecha (yyyy-MM-dd).
+     * @return Cuántos empleados cumplían el filtro y cuántos se eliminaron.
+     */
+    @Operation(summary = "Eliminar empleados por filtro",
+            description = "Elimina los empleados del departamento y/o contratados antes de la fecha indicada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empleados eliminados"),
+            @ApiResponse(responseCode = "400", description = "No se indicó ningún criterio", content = @Content)
+    })
+    @DeleteMapping
+    public ResultadoEliminacion eliminarPorFiltro(
+            @Parameter(description = "ID del departamento") @RequestParam(required = false) Long departamentoId,
+            @Parameter(description = "Fecha de contratación límite (exclusiva), formato yyyy-MM-dd")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate contratadosAntesDe
+    ) {
+        return empleadoService.eliminarPorFiltro(departamentoId, contratadosAntesDe);
+    }
+
     /**
      * Javadoc: Busca todos los empleados que pertenecen a un departamento específico.
      * @param nombre El nombre del departamento por el cual filtrar.
-     * @return Una lista de empleados que pertenecen a ese departamento.
+     * @return Una lista de resúmenes de los empleados que pertenecen a ese departamento.
      */
     @Operation(summary = "Buscar empleados por nombre de departamento")
     @ApiResponse(responseCode = "200", description = "Búsqueda completada")
     @GetMapping("/departamento/{nombre}")
-    public List<Empleado> obtenerPorDepartamento(
+    public List<EmpleadoResumen> obtenerPorDepartamento(
             @Parameter(description = "Nombre del departamento", required = true) @PathVariable String nombre
     ) {
         return empleadoService.buscarPorDepartamento(nombre);
@@ -127,15 +368,32 @@ public class EmpleadoController {
      * Javadoc: Busca empleados cuyo salario se encuentre dentro de un rango específico.
      * @param min El salario mínimo del rango.
      * @param max El salario máximo del rango.
-     * @return Una lista de empleados que cumplen con el criterio de salario.
+     * @return Una lista de resúmenes de los empleados que cumplen con el criterio de salario.
      */
     @Operation(summary = "Buscar empleados por rango de salario")
     @ApiResponse(responseCode = "200", description = "Búsqueda completada")
     @GetMapping("/salario")
-    public List<Empleado> obtenerPorRangoSalario(
+    public List<EmpleadoResumen> obtenerPorRangoSalario(
             @Parameter(description = "Salario mínimo a buscar", required = true) @RequestParam BigDecimal min,
             @Parameter(description = "Salario máximo a buscar", required = true) @RequestParam BigDecimal max
     ) {
         return empleadoService.buscarPorRangoSalario(min, max);
     }
+
+    /**
+     * Javadoc: Cuenta los empleados cuyo salario se encuentre dentro de un rango específico.
+     * Con el índice de salarios habilitado se responde desde memoria, sin consultar la base.
+     * @param min El salario mínimo del rango.
+     * @param max El salario máximo del rango.
+     * @return La cantidad de empleados con salario dentro del rango.
+     */
+    @Operation(summary = "Contar empleados por rango de salario")
+    @ApiResponse(responseCode = "200", description = "Conteo completado")
+    @GetMapping("/salario/cantidad")
+    public long contarPorRangoSalario(
+            @Parameter(description = "Salario mínimo a contar", required = true) @RequestParam BigDecimal min,
+            @Parameter(description = "Salario máximo a contar", required = true) @RequestParam BigDecimal max
+    ) {
+        return empleadoService.contarPorRangoSalario(min, max);
+    }
 }
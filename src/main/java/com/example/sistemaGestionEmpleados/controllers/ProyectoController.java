@@ -1,13 +1,24 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.CambioMiembros;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoParcial;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
 import com.example.sistemaGestionEmpleados.services.ProyectoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
@@ -24,24 +35,59 @@ public class ProyectoController {
 
     /**
      * Javadoc: Obtiene una lista de todos los proyectos registrados.
-     * @return Lista de objetos Proyecto.
+     * Cada elemento incluye la cantidad de miembros; la lista de empleados está en el detalle por ID.
+     * Con If-None-Match responde 304 si la lista no cambió.
+     * @param request La petición, para comparar su If-None-Match con el ETag del listado.
+     * @return Lista de resúmenes de proyectos.
      */
     @Operation(summary = "Obtener todos los proyectos", description = "Devuelve una lista con todos los proyectos existentes.")
     @GetMapping
-    public List<Proyecto> obtenerTodos() {
+    public List<ProyectoResumen> obtenerTodos(WebRequest request) {
+        if (request.checkNotModified(proyectoService.obtenerEtagListado())) {
+            return null;
+        }
         return proyectoService.obtenerTodos();
     }
 
+    /**
+     * Javadoc: Obtiene una página de proyectos usando paginación por cursor (keyset).
+     * El costo de cada página es el mismo sin importar cuán adelante esté.
+     * @param cursor El cursor devuelto por la página anterior, o vacío para la primera página.
+     * @param tamanio La cantidad de proyectos por página (por defecto 50, máximo 500).
+     * @param orden El campo por el cual ordenar: id o nombre.
+     * @return La página de proyectos junto con el cursor de la página siguiente.
+     */
+    @Operation(summary = "Obtener proyectos paginados por cursor",
+            description = "Devuelve una página de proyectos y un cursor opaco para pedir la siguiente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida con éxito"),
+            @ApiResponse(responseCode = "400", description = "Cursor, tamaño u orden inválido", content = @Content)
+    })
+    @GetMapping("/pagina")
+    public PaginaCursor<ProyectoResumen> obtenerPagina(
+            @Parameter(description = "Cursor devuelto por la página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de elementos por página (máximo 500)") @RequestParam(required = false) Integer tamanio,
+            @Parameter(description = "Campo de ordenamiento: id o nombre") @RequestParam(defaultValue = "id") String orden
+    ) {
+        return proyectoService.obtenerPagina(cursor, tamanio, orden);
+    }
+
     /**
      * Javadoc: Busca un proyecto específico por su ID.
+     * La respuesta lleva un ETag; con If-None-Match responde 304 sin cargar el proyecto si no cambió.
      * @param id El ID único del proyecto a buscar.
+     * @param request La petición, para comparar su If-None-Match con el ETag vigente.
      * @return El objeto Proyecto correspondiente al ID.
      */
     @Operation(summary = "Obtener un proyecto por su ID")
     @GetMapping("/{id}")
     public Proyecto obtenerPorId(
-            @Parameter(description = "ID del proyecto a obtener", required = true) @PathVariable Long id
+            @Parameter(description = "ID del proyecto a obtener", required = true) @PathVariable Long id,
+            WebRequest request
     ) {
+        if (request.checkNotModified(proyectoService.obtenerEtag(id))) {
+            return null;
+        }
         return proyectoService.buscarPorId(id);
     }
 
@@ -72,6 +118,28 @@ public class ProyectoController {
         return proyectoService.actualizar(id, proyecto);
     }
 
+    /**
+     * Javadoc: Modifica solo los campos enviados de un proyecto, con un único UPDATE y sin leerlo antes.
+     * Los campos ausentes o en null conservan su valor; los miembros no se cambian por esta vía.
+     * @param id El ID del proyecto a modificar.
+     * @param cambios Los campos a modificar.
+     */
+    @Operation(summary = "Modificar parcialmente un proyecto",
+            description = "Aplica solo los campos presentes en el cuerpo. No devuelve el proyecto: su nuevo estado (y ETag) se consulta con GET.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Proyecto modificado"),
+            @ApiResponse(responseCode = "400", description = "El cuerpo no trae campos para modificar", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Proyecto no encontrado", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(
+            @Parameter(description = "ID del proyecto a modificar", required = true) @PathVariable Long id,
+            @RequestBody ProyectoParcial cambios
+    ) {
+        proyectoService.actualizarParcial(id, cambios);
+    }
+
     /**
      * Javadoc: Elimina un proyecto de la base de datos.
      * @param id El ID del proyecto a eliminar.
@@ -85,14 +153,46 @@ public class ProyectoController {
         proyectoService.eliminar(id);
     }
 
+    /**
+     * Javadoc: Elimina un lote de proyectos por sus IDs, con DELETE por tramos y sin cargarlos.
+     * Antes se quitan sus filas de empleado_proyecto; los empleados no se eliminan. Los IDs inexistentes se ignoran.
+     * @param ids Los IDs de los proyectos a eliminar.
+     * @return Cuántos IDs se recibieron y cuántos proyectos se eliminaron efectivamente.
+     */
+    @Operation(summary = "Eliminar un lote de proyectos por sus IDs")
+    @ApiResponse(responseCode = "200", description = "Proyectos eliminados")
+    @DeleteMapping("/batch")
+    public ResultadoEliminacion eliminarLote(@RequestBody Set<Long> ids) {
+        return proyectoService.eliminarLote(ids);
+    }
+
+    /**
+     * Javadoc: Elimina los proyectos cuya fecha de finalización es anterior a la indicada.
+     * @param finalizadosAntesDe La fecha límite (exclusiva), en formato yyyy-MM-dd.
+     * @return Cuántos proyectos cumplían el filtro y cuántos se eliminaron.
+     */
+    @Operation(summary = "Eliminar proyectos finalizados",
+            description = "Elimina los proyectos que finalizaron antes de la fecha indicada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Proyectos eliminados"),
+            @ApiResponse(responseCode = "400", description = "No se indicó la fecha", content = @Content)
+    })
+    @DeleteMapping
+    public ResultadoEliminacion eliminarFinalizados(
+            @Parameter(description = "Fecha de finalización límite (exclusiva), formato yyyy-MM-dd", required = true)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate finalizadosAntesDe
+    ) {
+        return proyectoService.eliminarFinalizadosAntesDe(finalizadosAntesDe);
+    }
+
     /**
      * Javadoc: Obtiene una lista de todos los proyectos que se consideran activos
      * (aquellos cuya fecha de finalización es posterior a la fecha actual).
-     * @return Lista de proyectos activos.
+     * @return Lista de resúmenes de proyectos activos.
      */
     @Operation(summary = "Obtener todos los proyectos activos", description = "Devuelve una lista de proyectos cuya fecha de finalización es posterior a la fecha actual.")
     @GetMapping("/activos")
-    public List<Proyecto> obtenerProyectosActivos() {
+    public List<ProyectoResumen> obtenerProyectosActivos() {
         return proyectoService.buscarPorProyectosActivos();
     }
 
@@ -112,4 +212,48 @@ public class ProyectoController {
     ) {
         return proyectoService.asignarEmpleadosAProyecto(proyectoId, empleadoIds);
     }
+
+    /**
+     * Javadoc: Agrega un lote de empleados a un proyecto sin reemplazar a los miembros actuales.
+     * Los empleados que ya son miembros o que no existen se ignoran.
+     *
+     * @param proyectoId  El ID del proyecto al que se agregan los empleados.
+     * @param empleadoIds Los IDs de los empleados a agregar.
+     * @return Cuántos IDs se recibieron y cuántos empleados se agregaron efectivamente.
+     */
+    @Operation(summary = "Agregar empleados a un proyecto",
+            description = "Agrega los empleados indicados sin enviar ni modificar el resto de los miembros.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empleados agregados"),
+            @ApiResponse(responseCode = "404", description = "Proyecto no encontrado", content = @Content)
+    })
+    @PostMapping("/{proyectoId}/empleados")
+    public CambioMiembros agregarEmpleados(
+            @Parameter(description = "ID del proyecto", required = true) @PathVariable Long proyectoId,
+            @RequestBody Set<Long> empleadoIds
+    ) {
+        return proyectoService.agregarEmpleadosAProyecto(proyectoId, empleadoIds);
+    }
+
+    /**
+     * Javadoc: Quita un lote de empleados de un proyecto sin tocar al resto de los miembros.
+     * Los IDs que no son miembros del proyecto se ignoran.
+     *
+     * @param proyectoId  El ID del proyecto del que se quitan los empleados.
+     * @param empleadoIds Los IDs de los empleados a quitar.
+     * @return Cuántos IDs se recibieron y cuántos empleados se quitaron efectivamente.
+     */
+    @Operation(summary = "Quitar empleados de un proyecto",
+            description = "Quita los empleados indicados sin enviar ni modificar el resto de los miembros.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empleados quitados"),
+            @ApiResponse(responseCode = "404", description = "Proyecto no encontrado", content = @Content)
+    })
+    @DeleteMapping("/{proyectoId}/empleados")
+    public CambioMiembros quitarEmpleados(
+            @Parameter(description = "ID del proyecto", required = true) @PathVariable Long proyectoId,
+            @RequestBody Set<Long> empleadoIds
+    ) {
+        return proyectoService.quitarEmpleadosDeProyecto(proyectoId, empleadoIds);
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Resultado de agregar o quitar empleados de un proyecto: cuántos IDs se pidieron y cuántas
+ * filas de empleado_proyecto cambiaron (los que ya eran o no eran miembros no cuentan).
+ */
+public record CambioMiembros(Long proyectoId,
+                             int solicitados,
+                             int modificados) {
+}
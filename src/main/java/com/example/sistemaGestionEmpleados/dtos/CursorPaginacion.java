@@ -0,0 +1,62 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de una paginación por keyset: el campo de orden, el valor de ese campo
+ * en la última fila entregada y su ID (desempate). Se expone al cliente como un
+ * token opaco en Base64 URL-safe.
+ */
+public record CursorPaginacion(String orden, String valor, Long ultimoId) {
+
+    private static final char SEPARADOR = '|';
+
+    public String codificar() {
+        String plano = orden + SEPARADOR + valor + SEPARADOR + ultimoId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(plano.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacion decodificar(String token, String ordenEsperado) {
+        try {
+            String plano = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El valor puede contener el separador (ej. un nombre), por eso se corta por el primero y el último
+            int primero = plano.indexOf(SEPARADOR);
+            int ultimo = plano.lastIndexOf(SEPARADOR);
+            if (primero < 0 || primero == ultimo) {
+                throw new PaginacionInvalidaException("Cursor de paginación inválido: " + token);
+            }
+            String orden = plano.substring(0, primero);
+            if (!orden.equals(ordenEsperado)) {
+                throw new PaginacionInvalidaException("El cursor fue generado para el orden '" + orden
+                        + "' y no para '" + ordenEsperado + "'");
+            }
+            return new CursorPaginacion(orden, plano.substring(primero + 1, ultimo),
+                    Long.valueOf(plano.substring(ultimo + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new PaginacionInvalidaException("Cursor de paginación inválido: " + token);
+        }
+    }
+
+    public BigDecimal valorComoDecimal() {
+        try {
+            return new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new PaginacionInvalidaException("Cursor de paginación inválido para el orden '" + orden + "'");
+        }
+    }
+
+    public LocalDate valorComoFecha() {
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new PaginacionInvalidaException("Cursor de paginación inválido para el orden '" + orden + "'");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Fila de la búsqueda de departamentos por nombre de la importación CSV: solo el ID y el nombre.
+ */
+public record DepartamentoNombre(Long id,
+                                 String nombre) {
+}
@@ -0,0 +1,26 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cuerpo de PATCH /api/departamentos/{id}: solo se modifican los campos presentes; un campo
+ * ausente (o en null) conserva su valor.
+ */
+public record DepartamentoParcial(@Schema(example = "Tecnología") String nombre,
+                                  @Schema(example = "Desarrollo de software e infraestructura.") String descripcion) {
+
+    // Atributos de Departamento que cambian
+    public Map<String, Object> campos() {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (nombre != null) {
+            campos.put("nombre", nombre);
+        }
+        if (descripcion != null) {
+            campos.put("descripcion", descripcion);
+        }
+        return campos;
+    }
+}
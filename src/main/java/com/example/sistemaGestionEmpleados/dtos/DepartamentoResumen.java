@@ -0,0 +1,11 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Vista de lectura de un departamento para los listados: sus columnas y la cantidad de empleados,
+ * en lugar de la colección completa. El detalle con empleados sigue en GET /api/departamentos/{id}.
+ */
+public record DepartamentoResumen(Long id,
+                                  String nombre,
+                                  String descripcion,
+                                  Long cantidadEmpleados) {
+}
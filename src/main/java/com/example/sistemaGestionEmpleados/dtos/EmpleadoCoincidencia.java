@@ -0,0 +1,10 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Resultado de la búsqueda por nombre: lo que guarda el índice en memoria, sin consultar la base.
+ * El detalle del empleado sigue en GET /api/empleados/{id}.
+ */
+public record EmpleadoCoincidencia(Long id,
+                                   String nombre,
+                                   String apellido) {
+}
@@ -0,0 +1,31 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import com.example.sistemaGestionEmpleados.models.Empleado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fila plana de la exportación de empleados. Solo toma columnas propias del empleado y el
+ * ID del departamento (que el proxy LAZY conoce sin ir a la base), así escribirla nunca
+ * dispara cargas de relaciones.
+ */
+public record EmpleadoExportacion(Long id,
+                                  String nombre,
+                                  String apellido,
+                                  String email,
+                                  LocalDate fechaContratacion,
+                                  BigDecimal salario,
+                                  Long departamentoId) {
+
+    public static EmpleadoExportacion desde(Empleado empleado) {
+        return new EmpleadoExportacion(
+                empleado.getId(),
+                empleado.getNombre(),
+                empleado.getApellido(),
+                empleado.getEmail(),
+                empleado.getFechaContratacion(),
+                empleado.getSalario(),
+                empleado.getDepartamento() != null ? empleado.getDepartamento().getId() : null);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cuerpo de PATCH /api/empleados/{id}: solo se modifican los campos presentes. Un campo ausente
+ * (o en null) conserva su valor, por eso un PATCH no puede quitarle el departamento a un empleado.
+ */
+public record EmpleadoParcial(@Schema(example = "Ana") String nombre,
+                              @Schema(example = "Gomez") String apellido,
+                              @Schema(example = "ana.gomez@empresa.com") String email,
+                              @Schema(example = "2025-09-14") LocalDate fechaContratacion,
+                              @Schema(example = "80000.00") BigDecimal salario,
+                              @Schema(description = "ID del nuevo departamento.", example = "1") Long departamentoId) {
+
+    // Atributos de Empleado que cambian; el departamento lo agrega el servicio como referencia a la entidad
+    public Map<String, Object> campos() {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (nombre != null) {
+            campos.put("nombre", nombre);
+        }
+        if (apellido != null) {
+            campos.put("apellido", apellido);
+        }
+        if (email != null) {
+            campos.put("email", email);
+        }
+        if (fechaContratacion != null) {
+            campos.put("fechaContratacion", fechaContratacion);
+        }
+        if (salario != null) {
+            campos.put("salario", salario);
+        }
+        return campos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Vista de lectura de un empleado para los listados. Se arma con una expresión constructora
+ * en JPQL, por lo que no pasa por el contexto de persistencia ni dispara cargas de relaciones.
+ */
+public record EmpleadoResumen(Long id,
+                              String nombre,
+                              String apellido,
+                              String email,
+                              LocalDate fechaContratacion,
+                              BigDecimal salario,
+                              Long departamentoId,
+                              String departamentoNombre) {
+}
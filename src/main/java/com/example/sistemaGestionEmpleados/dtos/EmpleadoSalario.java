@@ -0,0 +1,10 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de la carga y la verificación del índice de salarios en memoria: solo el ID y el salario.
+ */
+public record EmpleadoSalario(Long id,
+                              BigDecimal salario) {
+}
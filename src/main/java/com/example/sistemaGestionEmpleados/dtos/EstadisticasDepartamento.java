@@ -0,0 +1,33 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Resumen salarial de un departamento. Los valores de salario y la última contratación
+ * son null cuando el departamento no tiene empleados.
+ */
+public record EstadisticasDepartamento(Long departamentoId,
+                                       String departamentoNombre,
+                                       long cantidadEmpleados,
+                                       BigDecimal salarioMinimo,
+                                       BigDecimal salarioMaximo,
+                                       BigDecimal salarioPromedio,
+                                       BigDecimal salarioTotal,
+                                       LocalDate ultimaContratacion) {
+
+    /**
+     * Constructor usado por la consulta agrupada. El promedio se calcula como total / cantidad
+     * en BigDecimal porque AVG en JPQL devuelve Double y perdería precisión.
+     */
+    public EstadisticasDepartamento(Long departamentoId, String departamentoNombre, Long cantidadEmpleados,
+                                    BigDecimal salarioMinimo, BigDecimal salarioMaximo, BigDecimal salarioTotal,
+                                    LocalDate ultimaContratacion) {
+        this(departamentoId, departamentoNombre, cantidadEmpleados, salarioMinimo, salarioMaximo,
+                cantidadEmpleados == 0 || salarioTotal == null
+                        ? null
+                        : salarioTotal.divide(BigDecimal.valueOf(cantidadEmpleados), 2, RoundingMode.HALF_UP),
+                salarioTotal, ultimaContratacion);
+    }
+}
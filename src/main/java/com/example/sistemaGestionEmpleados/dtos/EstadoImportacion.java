@@ -0,0 +1,22 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado de una importación de empleados desde CSV. Los contadores avanzan a medida que se confirma
+ * cada lote; de los errores se conservan solo los primeros, el total está en filasConError.
+ */
+public record EstadoImportacion(String id, Estado estado, long bytesTotales, long bytesLeidos,
+                                long filasLeidas, long filasCreadas, long filasConError,
+                                List<ErrorFila> errores, String mensaje,
+                                LocalDateTime inicio, LocalDateTime fin) {
+
+    public enum Estado {
+        EN_COLA, EN_CURSO, COMPLETADA, FALLIDA
+    }
+
+    // fila: número de línea del archivo en que empieza el registro (el encabezado es la línea 1)
+    public record ErrorFila(long fila, String email, String mensaje) {
+    }
+}
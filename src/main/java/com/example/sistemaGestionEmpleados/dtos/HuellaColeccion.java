@@ -0,0 +1,10 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Resumen de una tabla para el ETag de un listado: cantidad de filas y dos sumas calculadas en la base.
+ * Un alta o una baja cambia la cantidad o la suma de IDs, y cada UPDATE sube la suma de versiones.
+ */
+public record HuellaColeccion(Long cantidad,
+                              Long sumaIds,
+                              Long sumaVersiones) {
+}
@@ -0,0 +1,51 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de una paginación por cursor. {@code siguienteCursor} es null
+ * cuando no quedan más elementos.
+ */
+public record PaginaCursor<T>(List<T> elementos, String siguienteCursor, boolean hayMas) {
+
+    public static final int TAMANIO_POR_DEFECTO = 50;
+    public static final int TAMANIO_MAXIMO = 500;
+
+    public static int normalizarTamanio(Integer tamanio) {
+        if (tamanio == null) {
+            return TAMANIO_POR_DEFECTO;
+        }
+        if (tamanio < 1) {
+            throw new PaginacionInvalidaException("El tamaño de página debe ser mayor a 0");
+        }
+        return Math.min(tamanio, TAMANIO_MAXIMO);
+    }
+
+    /**
+     * Límite y orden de la consulta: el campo pedido con el ID como desempate, leyendo
+     * una fila de más para saber si hay página siguiente sin hacer un COUNT.
+     */
+    public static Pageable consultaPara(String orden, int tamanio) {
+        Sort sort = "id".equals(orden) ? Sort.by("id") : Sort.by(orden).and(Sort.by("id"));
+        return PageRequest.of(0, tamanio + 1, sort);
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas con un límite de {@code tamanio + 1}:
+     * la fila extra solo indica que existe una página siguiente y se descarta.
+     */
+    public static <T> PaginaCursor<T> desde(List<T> filas, int tamanio, Function<T, CursorPaginacion> cursorDe) {
+        if (filas.size() <= tamanio) {
+            return new PaginaCursor<>(filas, null, false);
+        }
+        List<T> elementos = List.copyOf(filas.subList(0, tamanio));
+        String siguiente = cursorDe.apply(elementos.get(elementos.size() - 1)).codificar();
+        return new PaginaCursor<>(elementos, siguiente, true);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cuerpo de PATCH /api/proyectos/{id}: solo se modifican los campos presentes; un campo ausente
+ * (o en null) conserva su valor. Los miembros se cambian con los endpoints de empleados del proyecto.
+ */
+public record ProyectoParcial(@Schema(example = "Proyecto Titán") String nombre,
+                              @Schema(example = "Migración de la base de datos a un entorno cloud.") String descripcion,
+                              @Schema(example = "2025-01-15") LocalDate fechaInicio,
+                              @Schema(example = "2026-03-31") LocalDate fechaFin) {
+
+    // Atributos de Proyecto que cambian
+    public Map<String, Object> campos() {
+        Map<String, Object> campos = new LinkedHashMap<>();
+        if (nombre != null) {
+            campos.put("nombre", nombre);
+        }
+        if (descripcion != null) {
+            campos.put("descripcion", descripcion);
+        }
+        if (fechaInicio != null) {
+            campos.put("fechaInicio", fechaInicio);
+        }
+        if (fechaFin != null) {
+            campos.put("fechaFin", fechaFin);
+        }
+        return campos;
+    }
+}
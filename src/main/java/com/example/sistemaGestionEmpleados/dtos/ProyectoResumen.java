@@ -0,0 +1,15 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.time.LocalDate;
+
+/**
+ * Vista de lectura de un proyecto para los listados: sus columnas y la cantidad de miembros,
+ * en lugar de la colección completa. El detalle con empleados sigue en GET /api/proyectos/{id}.
+ */
+public record ProyectoResumen(Long id,
+                              String nombre,
+                              String descripcion,
+                              LocalDate fechaInicio,
+                              LocalDate fechaFin,
+                              Long cantidadEmpleados) {
+}
@@ -0,0 +1,9 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Departamento y proyecto de un empleado, una fila por proyecto (o una sola con el proyecto en null).
+ * Alcanza para saber qué entradas cacheadas lo incluyen sin cargar la entidad.
+ */
+public record RelacionEmpleado(Long departamentoId,
+                               Long proyectoId) {
+}
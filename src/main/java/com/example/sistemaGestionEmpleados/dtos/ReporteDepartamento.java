@@ -0,0 +1,14 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resumen de un departamento armado en un solo pedido: sus datos, el salario promedio, sus empleados
+ * y los proyectos activos en los que participa alguno de ellos.
+ */
+public record ReporteDepartamento(DepartamentoResumen departamento,
+                                  BigDecimal salarioPromedio,
+                                  List<EmpleadoResumen> empleados,
+                                  List<ProyectoResumen> proyectosActivos) {
+}
@@ -0,0 +1,9 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Resultado de una baja masiva: cuántos IDs se pidieron (o encontró el filtro) y cuántas filas
+ * se borraron efectivamente (los IDs inexistentes no cuentan).
+ */
+public record ResultadoEliminacion(int solicitados,
+                                   int eliminados) {
+}
@@ -0,0 +1,13 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva: los IDs creados y, por cada elemento rechazado,
+ * su posición en el lote recibido y el motivo.
+ */
+public record ResultadoLote(int recibidos, int creados, List<Long> idsCreados, List<ErrorItem> errores) {
+
+    public record ErrorItem(int indice, String email, String mensaje) {
+    }
+}
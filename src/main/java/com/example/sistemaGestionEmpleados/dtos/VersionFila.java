@@ -0,0 +1,11 @@
+package com.example.sistemaGestionEmpleados.dtos;
+
+/**
+ * Fila de las consultas de ETag: el ID y la versión de una entidad junto con los de una relación que
+ * aparece en su JSON (un proyecto del empleado, un miembro del proyecto). La relación es nula si no tiene.
+ */
+public record VersionFila(Long id,
+                          Long version,
+                          Long relacionId,
+                          Long relacionVersion) {
+}
@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class ActualizacionInvalidaException extends RuntimeException {
+    public ActualizacionInvalidaException(String message) {
+        super(message);
+    }
+}
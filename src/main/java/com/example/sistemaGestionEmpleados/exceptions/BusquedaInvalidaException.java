@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class BusquedaInvalidaException extends RuntimeException {
+    public BusquedaInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class EliminacionInvalidaException extends RuntimeException {
+    public EliminacionInvalidaException(String message) {
+        super(message);
+    }
+}
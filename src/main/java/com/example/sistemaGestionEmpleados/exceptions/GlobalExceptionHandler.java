@@ -1,5 +1,6 @@
 package com.example.sistemaGestionEmpleados.exceptions;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,10 +14,11 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    // Manejador para entidades no encontradas (Empleado, Departamento, Proyecto)
+    // Manejador para recursos no encontrados (Empleado, Departamento, Proyecto, importación)
     @ExceptionHandler({EmpleadoNoEncontradoException.class,
             DepartamentoNoEncontradoException.class,
-            ProyectoNoEncontradoException.class})
+            ProyectoNoEncontradoException.class,
+            ImportacionNoEncontradaException.class})
     public ResponseEntity<Object> handleNotFoundException(RuntimeException ex, WebRequest request) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("timestamp", LocalDateTime.now());
@@ -41,6 +43,55 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    // Manejador para violaciones de restricciones detectadas por la base de datos: el email único al confirmar es un
+    // conflicto (409); el resto (NOT NULL, claves foráneas, largos) son datos inválidos del pedido (400)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Object> handleDataIntegrityViolationException(DataIntegrityViolationException ex, WebRequest request) {
+        if (ViolacionRestriccion.esEmailDuplicado(ex)) {
+            return handleEmailDuplicadoException(new EmailDuplicadoException("El email ya está registrado"), request);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Solicitud inválida");
+        body.put("message", "Los datos enviados no cumplen una restricción de la base de datos.");
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // Manejador para pedidos inválidos: paginación, búsqueda por nombre, PATCH sin campos, bajas por filtro sin
+    // criterio e importaciones CSV sin archivo o con un encabezado incompleto
+    @ExceptionHandler({PaginacionInvalidaException.class,
+            BusquedaInvalidaException.class,
+            ActualizacionInvalidaException.class,
+            EliminacionInvalidaException.class,
+            ImportacionInvalidaException.class})
+    public ResponseEntity<Object> handleSolicitudInvalidaException(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Solicitud inválida");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // Manejador para reportes que no se completaron dentro del plazo y reportes o importaciones sin lugar en su pool
+    @ExceptionHandler({ReporteNoDisponibleException.class,
+            ImportacionNoDisponibleException.class})
+    public ResponseEntity<Object> handleNoDisponibleException(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Servicio no disponible");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // Manejador genérico para cualquier otra excepción no controlada
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneralException(Exception ex, WebRequest request) {
@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class ImportacionInvalidaException extends RuntimeException {
+    public ImportacionInvalidaException(String message) {
+        super(message);
+    }
+}
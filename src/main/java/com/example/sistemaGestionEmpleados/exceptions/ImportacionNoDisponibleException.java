@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class ImportacionNoDisponibleException extends RuntimeException {
+    public ImportacionNoDisponibleException(String message) {
+        super(message);
+    }
+}
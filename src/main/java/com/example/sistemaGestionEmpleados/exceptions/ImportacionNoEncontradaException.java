@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class ImportacionNoEncontradaException extends RuntimeException {
+    public ImportacionNoEncontradaException(String message) {
+        super(message);
+    }
+}
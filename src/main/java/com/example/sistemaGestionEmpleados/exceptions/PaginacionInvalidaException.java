@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class PaginacionInvalidaException extends RuntimeException {
+    public PaginacionInvalidaException(String message) {
+        super(message);
+    }
+}
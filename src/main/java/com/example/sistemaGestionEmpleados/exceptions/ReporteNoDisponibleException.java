@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+public class ReporteNoDisponibleException extends RuntimeException {
+    public ReporteNoDisponibleException(String message) {
+        super(message);
+    }
+}
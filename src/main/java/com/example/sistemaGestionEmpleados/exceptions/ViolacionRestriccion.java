@@ -0,0 +1,41 @@
+package com.example.sistemaGestionEmpleados.exceptions;
+
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identifica qué restricción de la base de datos provocó un error de integridad. Cada motor
+ * reporta el nombre distinto (H2 en mayúsculas, MySQL con prefijo de tabla), por eso se busca
+ * el nombre en toda la cadena de causas sin distinguir mayúsculas.
+ */
+public final class ViolacionRestriccion {
+
+    private ViolacionRestriccion() {
+    }
+
+    public static boolean esEmailDuplicado(Throwable error) {
+        return violaRestriccion(error, Empleado.RESTRICCION_EMAIL_UNICO);
+    }
+
+    private static boolean violaRestriccion(Throwable error, String nombreRestriccion) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion
+                    && contieneIgnorandoMayusculas(violacion.getConstraintName(), nombreRestriccion)) {
+                return true;
+            }
+            if (contieneIgnorandoMayusculas(causa.getMessage(), nombreRestriccion)) {
+                return true;
+            }
+            if (causa.getCause() == causa) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contieneIgnorandoMayusculas(String texto, String buscado) {
+        return texto != null && texto.toLowerCase(Locale.ROOT).contains(buscado.toLowerCase(Locale.ROOT));
+    }
+}
@@ -2,16 +2,21 @@ package com.example.sistemaGestionEmpleados.models;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "departamentos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departamentos")
 @Getter
 @Setter
 @ToString(exclude = "empleados") // Excluye la relación
@@ -26,6 +31,12 @@ public class Departamento {
             example = "1", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versión del departamento: aumenta con cada modificación y de ella sale el ETag.",
+            example = "1", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
     @Column(nullable = false, length = 100, unique = true)
     @Schema(description = "Nombre del departamento.", example = "Tecnología")
     private String nombre;
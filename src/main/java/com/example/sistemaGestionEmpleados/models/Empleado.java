@@ -2,6 +2,8 @@ package com.example.sistemaGestionEmpleados.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -13,7 +15,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "empleados")
+@Table(name = "empleados",
+        uniqueConstraints = @UniqueConstraint(name = Empleado.RESTRICCION_EMAIL_UNICO, columnNames = "email"))
 @Getter
 @Setter
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
@@ -22,12 +25,23 @@ import java.util.Set;
 @ToString(exclude = {"departamento", "proyectos"}) // Excluye las relaciones
 @EqualsAndHashCode(of = "id") // Basa la igualdad solo en el ID
 public class Empleado {
+    // Nombre fijo para poder reconocer la violación del email único en el manejo de errores
+    public static final String RESTRICCION_EMAIL_UNICO = "uk_empleados_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia con optimizador pooled: el ID se conoce sin hacer el INSERT, lo que permite batching JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "empleados_seq")
+    @SequenceGenerator(name = "empleados_seq", sequenceName = "empleados_seq", allocationSize = 50)
     @Schema(description = "ID único del empleado, generado automáticamente.",
            example = "101", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versión del empleado: aumenta con cada modificación y de ella sale el ETag.",
+            example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
     @Column(nullable = false, length = 100)
     @Schema(description = "Nombre del empleado.", example = "Ana")
     private String nombre;
@@ -36,7 +50,7 @@ public class Empleado {
     @Schema(description = "Apellido del empleado.", example = "Gomez")
     private String apellido;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Schema(description = "Email corporativo del empleado.", example = "ana.gomez@empresa.com")
     private String email;
 
@@ -56,6 +70,7 @@ public class Empleado {
     private Departamento departamento;
 
     @ManyToMany
+    @JsonIgnoreProperties("empleados") // Evita recorrer los demás empleados de cada proyecto
     @JoinTable(
             name = "empleado_proyecto",
             joinColumns = @JoinColumn(name = "empleado_id"),
@@ -1,10 +1,14 @@
 package com.example.sistemaGestionEmpleados.models;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -12,6 +16,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "proyectos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "proyectos")
 @Getter
 @Setter
 @ToString(exclude = "empleados") // Excluye la relación
@@ -26,6 +32,12 @@ public class Proyecto {
             example = "55", accessMode = Schema.AccessMode.READ_ONLY)
     private Long id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versión del proyecto: aumenta con cada modificación y de ella sale el ETag.",
+            example = "2", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
     @Column(nullable = false, length = 100)
     @Schema(description = "Nombre clave del proyecto.", example = "Proyecto Titán")
     private String nombre;
@@ -45,5 +57,6 @@ public class Proyecto {
     private LocalDate fechaFin;
 
     @ManyToMany(mappedBy = "proyectos")
+    @JsonIgnoreProperties("proyectos") // Evita recorrer los demás proyectos de cada empleado
     private Set<Empleado> empleados = new HashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.sistemaGestionEmpleados.repositories;
+
+import java.util.Map;
+
+/**
+ * Fragmento compartido por los repositorios para las actualizaciones parciales (PATCH): un único
+ * UPDATE con solo las columnas recibidas, sin leer la entidad antes.
+ */
+public interface ActualizacionParcialRepository {
+
+    /**
+     * Asigna los atributos indicados a la entidad con ese ID y sube su versión en la misma sentencia.
+     * @return La cantidad de filas modificadas: 0 si no existe una entidad con ese ID.
+     */
+    int actualizarCampos(Class<?> entidad, Long id, Map<String, Object> campos);
+}
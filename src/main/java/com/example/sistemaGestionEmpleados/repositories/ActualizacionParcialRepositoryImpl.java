@@ -0,0 +1,38 @@
+package com.example.sistemaGestionEmpleados.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Map;
+
+// Se arma con Criteria para que el SET tenga solo los atributos recibidos; los nombres se validan contra el modelo
+public class ActualizacionParcialRepositoryImpl implements ActualizacionParcialRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int actualizarCampos(Class<?> entidad, Long id, Map<String, Object> campos) {
+        return actualizar(entidad, id, campos);
+    }
+
+    private <T> int actualizar(Class<T> entidad, Long id, Map<String, Object> campos) {
+        CriteriaBuilder criteria = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = criteria.createCriteriaUpdate(entidad);
+        Root<T> raiz = update.from(entidad);
+        campos.forEach(update::set);
+        // Como cualquier otra modificación, el UPDATE sube la versión: cambian los ETags que la incluyen
+        update.set(raiz.<Long>get("version"), criteria.sum(raiz.<Long>get("version"), 1L));
+        update.where(criteria.equal(raiz.get("id"), id));
+
+        // Igual que @Modifying(flushAutomatically = true, clearAutomatically = true): el UPDATE ve las escrituras
+        // pendientes y después no quedan entidades gestionadas con los valores anteriores
+        entityManager.flush();
+        int filas = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return filas;
+    }
+}
@@ -1,9 +1,75 @@
 package com.example.sistemaGestionEmpleados.repositories;
 
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoNombre;
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
+import com.example.sistemaGestionEmpleados.dtos.HuellaColeccion;
 import com.example.sistemaGestionEmpleados.models.Departamento;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface DepartamentoRepository extends JpaRepository<Departamento, Long> {
+public interface DepartamentoRepository extends JpaRepository<Departamento, Long>, ActualizacionParcialRepository {
+
+    // Carga el departamento con sus empleados y los proyectos de cada uno (lo que expone su JSON)
+    @Query("SELECT DISTINCT d FROM Departamento d LEFT JOIN FETCH d.empleados e LEFT JOIN FETCH e.proyectos WHERE d.id = :id")
+    Optional<Departamento> findByIdWithEmpleados(@Param("id") Long id);
+
+    // Una sola consulta agrupada para todos los departamentos; el LEFT JOIN incluye a los que no tienen empleados
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento(" +
+            "d.id, d.nombre, COUNT(e), MIN(e.salario), MAX(e.salario), SUM(e.salario), MAX(e.fechaContratacion)) " +
+            "FROM Departamento d LEFT JOIN d.empleados e " +
+            "GROUP BY d.id, d.nombre ORDER BY d.nombre")
+    List<EstadisticasDepartamento> findEstadisticasSalariales();
+
+    // Listados de lectura: columnas del departamento y la cantidad de empleados, sin cargar la colección
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen(" +
+            "d.id, d.nombre, d.descripcion, (SELECT COUNT(e) FROM Empleado e WHERE e.departamento = d)) " +
+            "FROM Departamento d ORDER BY d.id")
+    List<DepartamentoResumen> findResumenes();
+
+    // Altas en lote: cuáles de los departamentos pedidos existen, para informar los demás como error del ítem
+    @Query("SELECT d.id FROM Departamento d WHERE d.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Importación CSV: ID y nombre de cada departamento, sin cargar entidades ni colecciones
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoNombre(d.id, d.nombre) FROM Departamento d")
+    List<DepartamentoNombre> findNombres();
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen(" +
+            "d.id, d.nombre, d.descripcion, (SELECT COUNT(e) FROM Empleado e WHERE e.departamento = d)) " +
+            "FROM Departamento d WHERE d.id = :id")
+    Optional<DepartamentoResumen> findResumenById(@Param("id") Long id);
+
+    // Paginación por keyset: el orden (campo + id) llega en el Pageable y el WHERE continúa desde el cursor
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen(" +
+            "d.id, d.nombre, d.descripcion, (SELECT COUNT(e) FROM Empleado e WHERE e.departamento = d)) " +
+            "FROM Departamento d")
+    List<DepartamentoResumen> findPagina(Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen(" +
+            "d.id, d.nombre, d.descripcion, (SELECT COUNT(e) FROM Empleado e WHERE e.departamento = d)) " +
+            "FROM Departamento d WHERE d.id > :ultimoId")
+    List<DepartamentoResumen> findPaginaDespuesDeId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen(" +
+            "d.id, d.nombre, d.descripcion, (SELECT COUNT(e) FROM Empleado e WHERE e.departamento = d)) " +
+            "FROM Departamento d " +
+            "WHERE d.nombre > :nombre OR (d.nombre = :nombre AND d.id > :ultimoId)")
+    List<DepartamentoResumen> findPaginaDespuesDeNombre(@Param("nombre") String nombre,
+                                                        @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    // ETags: solo la versión, sin cargar la entidad
+    @Query("SELECT d.version FROM Departamento d WHERE d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.HuellaColeccion(COUNT(d), COALESCE(SUM(d.id), 0L), COALESCE(SUM(d.version), 0L)) FROM Departamento d")
+    HuellaColeccion findHuella();
 }
@@ -1,27 +1,169 @@
 package com.example.sistemaGestionEmpleados.repositories;
 
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoSalario;
+import com.example.sistemaGestionEmpleados.dtos.HuellaColeccion;
+import com.example.sistemaGestionEmpleados.dtos.RelacionEmpleado;
+import com.example.sistemaGestionEmpleados.dtos.VersionFila;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.models.Empleado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
+public interface EmpleadoRepository extends JpaRepository<Empleado, Long>, ActualizacionParcialRepository {
+
     Optional<Empleado> findByEmail(String email);
+
+    // Carga el empleado con los proyectos que expone su JSON, para poder cachearlo desacoplado de la sesión
+    @Query("SELECT e FROM Empleado e LEFT JOIN FETCH e.proyectos WHERE e.id = :id")
+    Optional<Empleado> findByIdWithProyectos(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT e.departamento.id FROM Empleado e WHERE e.id IN :ids AND e.departamento IS NOT NULL")
+    List<Long> findIdsDepartamentos(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.email FROM Empleado e WHERE e.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
     List<Empleado> findByDepartamento(Departamento departamento);
+
+    @EntityGraph(attributePaths = "proyectos")
     List<Empleado> findBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax);
+
     List<Empleado> findByFechaContratacionAfter(LocalDate fecha);
 
+    @EntityGraph(attributePaths = "proyectos")
     @Query("SELECT e FROM Empleado e WHERE e.departamento.nombre = :nombreDepartamento")
     List<Empleado> findByNombreDepartamento(@Param("nombreDepartamento") String nombreDepartamento);
 
     @Query("SELECT AVG(e.salario) FROM Empleado e WHERE e.departamento.id = :departamentoId")
     Optional<BigDecimal> findAverageSalarioByDepartamento(@Param("departamentoId") Long departamentoId);
+
+    // Listados de lectura: expresión constructora sobre columnas, sin entidades gestionadas ni cargas LAZY
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d ORDER BY e.id")
+    List<EmpleadoResumen> findResumenes();
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e JOIN e.departamento d WHERE d.nombre = :nombreDepartamento ORDER BY e.id")
+    List<EmpleadoResumen> findResumenesByNombreDepartamento(@Param("nombreDepartamento") String nombreDepartamento);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e JOIN e.departamento d WHERE d.id = :departamentoId ORDER BY e.id")
+    List<EmpleadoResumen> findResumenesByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d WHERE e.salario BETWEEN :salarioMin AND :salarioMax ORDER BY e.id")
+    List<EmpleadoResumen> findResumenesBySalarioBetween(@Param("salarioMin") BigDecimal salarioMin,
+                                                        @Param("salarioMax") BigDecimal salarioMax);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d WHERE e.id IN :ids ORDER BY e.id")
+    List<EmpleadoResumen> findResumenesByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax);
+
+    // Paginación por keyset: el orden (campo + id) llega en el Pageable y el WHERE continúa desde el cursor
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d")
+    List<EmpleadoResumen> findPagina(Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d WHERE e.id > :ultimoId")
+    List<EmpleadoResumen> findPaginaDespuesDeId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d " +
+            "WHERE e.salario > :salario OR (e.salario = :salario AND e.id > :ultimoId)")
+    List<EmpleadoResumen> findPaginaDespuesDeSalario(@Param("salario") BigDecimal salario,
+                                                     @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen(" +
+            "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) " +
+            "FROM Empleado e LEFT JOIN e.departamento d " +
+            "WHERE e.fechaContratacion > :fecha OR (e.fechaContratacion = :fecha AND e.id > :ultimoId)")
+    List<EmpleadoResumen> findPaginaDespuesDeFechaContratacion(@Param("fecha") LocalDate fecha,
+                                                               @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    // Recorre toda la tabla con un cursor JDBC; debe consumirse dentro de una transacción y cerrarse
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Empleado e ORDER BY e.id")
+    Stream<Empleado> streamTodos();
+
+    // Carga inicial del índice de búsqueda por nombre: solo las columnas que indexa
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia(e.id, e.nombre, e.apellido) FROM Empleado e")
+    Stream<EmpleadoCoincidencia> streamNombres();
+
+    @Query("SELECT e.id FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    List<Long> findIdsByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    // Carga y verificación del índice de salarios: el orden llega como Sort (por salario e id, o solo por id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.EmpleadoSalario(e.id, e.salario) FROM Empleado e")
+    Stream<EmpleadoSalario> streamSalarios(Sort orden);
+
+    // ETags: solo IDs y versiones, sin cargar entidades. Una fila por proyecto del empleado (los que incluye su JSON)
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.VersionFila(e.id, e.version, p.id, p.version) " +
+            "FROM Empleado e LEFT JOIN e.proyectos p WHERE e.id = :id ORDER BY p.id")
+    List<VersionFila> findVersiones(@Param("id") Long id);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.VersionFila(e.id, e.version, p.id, p.version) " +
+            "FROM Empleado e LEFT JOIN e.proyectos p WHERE e.departamento.id = :departamentoId ORDER BY e.id, p.id")
+    List<VersionFila> findVersionesByDepartamentoId(@Param("departamentoId") Long departamentoId);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.HuellaColeccion(COUNT(e), COALESCE(SUM(e.id), 0L), COALESCE(SUM(e.version), 0L)) FROM Empleado e")
+    HuellaColeccion findHuella();
+
+    // Bajas masivas por filtro: solo los IDs, que después se borran por tramos
+    @Query("SELECT e.id FROM Empleado e WHERE e.fechaContratacion < :fecha")
+    List<Long> findIdsByFechaContratacionBefore(@Param("fecha") LocalDate fecha);
+
+    @Query("SELECT e.id FROM Empleado e WHERE e.departamento.id = :departamentoId AND e.fechaContratacion < :fecha")
+    List<Long> findIdsByDepartamentoIdAndFechaContratacionBefore(@Param("departamentoId") Long departamentoId,
+                                                                 @Param("fecha") LocalDate fecha);
+
+    // Bajas masivas sin cargar entidades: primero las filas de empleado_proyecto (la FK no borra en cascada).
+    // El espacio de consulta limita la invalidación de la caché de segundo nivel a empleado_proyecto
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "DELETE FROM empleado_proyecto WHERE empleado_id IN (:ids)", nativeQuery = true)
+    int quitarDeProyectos(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Empleado e WHERE e.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    // Cachés a invalidar tras un PATCH: el departamento y los proyectos del empleado, sin cargar la entidad
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.RelacionEmpleado(d.id, p.id) " +
+            "FROM Empleado e LEFT JOIN e.departamento d LEFT JOIN e.proyectos p WHERE e.id = :id")
+    List<RelacionEmpleado> findRelaciones(@Param("id") Long id);
 }
@@ -1,18 +1,133 @@
 package com.example.sistemaGestionEmpleados.repositories;
 
+import com.example.sistemaGestionEmpleados.dtos.HuellaColeccion;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.VersionFila;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
+public interface ProyectoRepository extends JpaRepository<Proyecto, Long>, ActualizacionParcialRepository {
+
+    @EntityGraph(attributePaths = "empleados")
     List<Proyecto> findByFechaFinAfter(LocalDate fechaFin);
+
     @Query("SELECT p FROM Proyecto p LEFT JOIN FETCH p.empleados WHERE p.id = :id")
     Optional<Proyecto> findByIdWithEmpleados(@Param("id") Long id);
+
+    @Query("SELECT e.id FROM Proyecto p JOIN p.empleados e WHERE p.id = :id")
+    List<Long> findIdsEmpleados(@Param("id") Long id);
+
+    // Altas y bajas de miembros directamente sobre la tabla de unión, sin cargar Proyecto.empleados.
+    // El espacio de consulta limita la invalidación de la caché de segundo nivel a empleado_proyecto.
+    // Solo inserta empleados existentes que todavía no son miembros
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "INSERT INTO empleado_proyecto (empleado_id, proyecto_id) " +
+            "SELECT e.id, :proyectoId FROM empleados e WHERE e.id IN (:empleadoIds) " +
+            "AND NOT EXISTS (SELECT 1 FROM empleado_proyecto ep WHERE ep.empleado_id = e.id AND ep.proyecto_id = :proyectoId)",
+            nativeQuery = true)
+    int agregarEmpleados(@Param("proyectoId") Long proyectoId, @Param("empleadoIds") Collection<Long> empleadoIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "DELETE FROM empleado_proyecto WHERE proyecto_id = :proyectoId AND empleado_id IN (:empleadoIds)",
+            nativeQuery = true)
+    int quitarEmpleados(@Param("proyectoId") Long proyectoId, @Param("empleadoIds") Collection<Long> empleadoIds);
+
+    // Bajas masivas sin cargar entidades: primero las filas de empleado_proyecto y después los proyectos
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "DELETE FROM empleado_proyecto WHERE proyecto_id IN (:proyectoIds)", nativeQuery = true)
+    int quitarTodosLosEmpleados(@Param("proyectoIds") Collection<Long> proyectoIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Proyecto p WHERE p.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Proyecto p WHERE p.fechaFin < :fecha")
+    List<Long> findIdsByFechaFinBefore(@Param("fecha") LocalDate fecha);
+
+    // Listados de lectura: columnas del proyecto y la cantidad de miembros, sin cargar la colección
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p ORDER BY p.id")
+    List<ProyectoResumen> findResumenes();
+
+    // Cacheada solo si el perfil habilita hibernate.cache.use_query_cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "proyectos-activos")
+    })
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p WHERE p.fechaFin > :fecha ORDER BY p.id")
+    List<ProyectoResumen> findResumenesActivos(@Param("fecha") LocalDate fecha);
+
+    // Proyectos activos con al menos un miembro del departamento; la cantidad cuenta a todos los miembros
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p WHERE p.fechaFin > :fecha AND EXISTS (" +
+            "SELECT 1 FROM Proyecto r JOIN r.empleados e WHERE r = p AND e.departamento.id = :departamentoId) " +
+            "ORDER BY p.id")
+    List<ProyectoResumen> findResumenesActivosByDepartamentoId(@Param("departamentoId") Long departamentoId,
+                                                               @Param("fecha") LocalDate fecha);
+
+    // Paginación por keyset: el orden (campo + id) llega en el Pageable y el WHERE continúa desde el cursor
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p")
+    List<ProyectoResumen> findPagina(Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p WHERE p.id > :ultimoId")
+    List<ProyectoResumen> findPaginaDespuesDeId(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.ProyectoResumen(" +
+            "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin, " +
+            "(SELECT COUNT(m) FROM Proyecto q JOIN q.empleados m WHERE q = p)) " +
+            "FROM Proyecto p " +
+            "WHERE p.nombre > :nombre OR (p.nombre = :nombre AND p.id > :ultimoId)")
+    List<ProyectoResumen> findPaginaDespuesDeNombre(@Param("nombre") String nombre,
+                                                    @Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    // ETags: solo IDs y versiones, sin cargar entidades. Una fila por miembro del proyecto (los que incluye su JSON)
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.VersionFila(p.id, p.version, e.id, e.version) " +
+            "FROM Proyecto p LEFT JOIN p.empleados e WHERE p.id = :id ORDER BY e.id")
+    List<VersionFila> findVersiones(@Param("id") Long id);
+
+    @Query("SELECT p.version FROM Proyecto p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.HuellaColeccion(COUNT(p), COALESCE(SUM(p.id), 0L), COALESCE(SUM(p.version), 0L)) FROM Proyecto p")
+    HuellaColeccion findHuella();
+
+    // Los miembros se cambian con SQL nativo y no suben la versión del proyecto: la huella es la cantidad de filas
+    // de empleado_proyecto, la suma de sus IDs de empleado y (en sumaVersiones) la suma de un hash no lineal de cada
+    // par proyecto-empleado. Con sumas lineales, intercambiar miembros entre dos proyectos dejaba la huella igual.
+    // El hash es el cuadrado del par codificado, módulo el primo 2^31 - 1: cada término entra en un BIGINT
+    @Query("SELECT new com.example.sistemaGestionEmpleados.dtos.HuellaColeccion(COUNT(e), COALESCE(SUM(e.id), 0L), " +
+            "COALESCE(SUM(MOD(MOD(p.id * 1000003L + e.id, 2147483647L) * MOD(p.id * 1000003L + e.id, 2147483647L), 2147483647L)), 0L)) " +
+            "FROM Proyecto p JOIN p.empleados e")
+    HuellaColeccion findHuellaMiembros();
 }
@@ -1,5 +1,9 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoParcial;
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
 import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 
@@ -8,7 +12,12 @@ import java.util.List;
 public interface DepartamentoService {
     Departamento guardar(Departamento departamento);
     Departamento buscarPorId(Long id);
-    List<Departamento> obtenerTodos();
+    String obtenerEtag(Long id);
+    String obtenerEtagListado();
+    List<DepartamentoResumen> obtenerTodos();
+    PaginaCursor<DepartamentoResumen> obtenerPagina(String cursor, Integer tamanio, String orden);
     Departamento actualizar(Long id, Departamento departamento) throws DepartamentoNoEncontradoException;
+    void actualizarParcial(Long id, DepartamentoParcial cambios) throws DepartamentoNoEncontradoException;
     void eliminar(Long id);
+    List<EstadisticasDepartamento> obtenerEstadisticasSalariales();
 }
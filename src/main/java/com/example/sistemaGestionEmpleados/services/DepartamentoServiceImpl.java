@@ -1,21 +1,49 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.config.CacheConfig;
+import com.example.sistemaGestionEmpleados.dtos.CursorPaginacion;
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoParcial;
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.exceptions.ActualizacionInvalidaException;
 import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
-import jakarta.transaction.Transactional;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 public class DepartamentoServiceImpl implements DepartamentoService {
 
+    private static final Set<String> ORDENES_PAGINACION = Set.of("id", "nombre");
+
     private final DepartamentoRepository departamentoRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final InvalidacionCache invalidacionCache;
+    private final IndiceNombres indiceNombres;
+    private final ObjectProvider<IndiceSalarios> indiceSalarios;
 
-    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository) {
+    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository,
+                                   EmpleadoRepository empleadoRepository,
+                                   InvalidacionCache invalidacionCache,
+                                   IndiceNombres indiceNombres,
+                                   ObjectProvider<IndiceSalarios> indiceSalarios) {
         this.departamentoRepository = departamentoRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.invalidacionCache = invalidacionCache;
+        this.indiceNombres = indiceNombres;
+        this.indiceSalarios = indiceSalarios;
     }
 
     @Override
@@ -24,18 +52,57 @@ public class DepartamentoServiceImpl implements DepartamentoService {
     }
 
     @Override
+    @Cacheable(CacheConfig.CACHE_DEPARTAMENTOS)
+    @Transactional(readOnly = true)
     public Departamento buscarPorId(Long id) throws DepartamentoNoEncontradoException {
-        return departamentoRepository.findById(id)
+        return departamentoRepository.findByIdWithEmpleados(id)
                 .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
     }
 
+    // Solo versiones: la del departamento y las de sus empleados y los proyectos de cada uno, que son lo que muestra su JSON
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtag(Long id) throws DepartamentoNoEncontradoException {
+        Long version = departamentoRepository.findVersionById(id)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
+        HuellaVersiones huella = new HuellaVersiones("departamento").agregar(id).agregar(version);
+        empleadoRepository.findVersionesByDepartamentoId(id).forEach(huella::agregar);
+        return huella.etag();
+    }
+
+    // Los resúmenes incluyen la cantidad de empleados: un alta, baja o cambio de departamento también cambia el listado
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtagListado() {
+        return new HuellaVersiones("departamentos")
+                .agregar(departamentoRepository.findHuella())
+                .agregar(empleadoRepository.findHuella())
+                .etag();
+    }
+
     @Override
     public Departamento actualizar(Long id, Departamento departamento) throws DepartamentoNoEncontradoException {
-        if (!departamentoRepository.existsById(id)) {
+        Long version = departamentoRepository.findVersionById(id)
+                .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
+        departamento.setId(id);
+        // PUT reemplaza sin exigir If-Match: se toma la versión vigente para que el merge no la rechace
+        departamento.setVersion(version);
+        Departamento actualizado = departamentoRepository.save(departamento);
+        invalidacionCache.departamentos(Set.of(id));
+        return actualizado;
+    }
+
+    // Un único UPDATE con los campos recibidos: la existencia la decide la cantidad de filas, sin SELECT previo
+    @Override
+    public void actualizarParcial(Long id, DepartamentoParcial cambios) throws DepartamentoNoEncontradoException {
+        Map<String, Object> campos = cambios.campos();
+        if (campos.isEmpty()) {
+            throw new ActualizacionInvalidaException("El cuerpo no trae campos para modificar");
+        }
+        if (departamentoRepository.actualizarCampos(Departamento.class, id, campos) == 0) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
         }
-        departamento.setId(id);
-        return departamentoRepository.save(departamento);
+        invalidacionCache.departamentos(Set.of(id));
     }
 
     @Override
@@ -43,11 +110,47 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         if (!departamentoRepository.existsById(id)) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
         }
+        // Los IDs se leen antes de que la cascada borre a los empleados
+        List<Long> empleados = empleadoRepository.findIdsByDepartamentoId(id);
         departamentoRepository.deleteById(id);
+        // El borrado se propaga en cascada a los empleados (y a sus proyectos); es poco frecuente, se vacía toda la caché
+        invalidacionCache.todo();
+        indiceNombres.quitar(empleados);
+        indiceSalarios.ifAvailable(indice -> indice.quitar(empleados));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartamentoResumen> obtenerTodos() {
+        return departamentoRepository.findResumenes();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<DepartamentoResumen> obtenerPagina(String cursor, Integer tamanio, String ordenPedido) {
+        String orden = ordenPedido == null ? "id" : ordenPedido;
+        if (!ORDENES_PAGINACION.contains(orden)) {
+            throw new PaginacionInvalidaException("Orden no soportado para departamentos: " + orden);
+        }
+        int limite = PaginaCursor.normalizarTamanio(tamanio);
+        Pageable consulta = PaginaCursor.consultaPara(orden, limite);
+
+        List<DepartamentoResumen> filas;
+        if (cursor == null || cursor.isBlank()) {
+            filas = departamentoRepository.findPagina(consulta);
+        } else {
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor, orden);
+            filas = "nombre".equals(orden)
+                    ? departamentoRepository.findPaginaDespuesDeNombre(posicion.valor(), posicion.ultimoId(), consulta)
+                    : departamentoRepository.findPaginaDespuesDeId(posicion.ultimoId(), consulta);
+        }
+        return PaginaCursor.desde(filas, limite, d -> new CursorPaginacion(orden,
+                "nombre".equals(orden) ? d.nombre() : String.valueOf(d.id()), d.id()));
     }
 
     @Override
-    public List<Departamento> obtenerTodos() {
-        return departamentoRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<EstadisticasDepartamento> obtenerEstadisticasSalariales() {
+        return departamentoRepository.findEstadisticasSalariales();
     }
 }
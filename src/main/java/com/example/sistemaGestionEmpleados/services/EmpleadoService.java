@@ -1,18 +1,38 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoExportacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoParcial;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
 import com.example.sistemaGestionEmpleados.exceptions.EmpleadoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Empleado;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmpleadoService {
     Empleado guardar(Empleado empleado);
+    ResultadoLote guardarLote(List<Empleado> empleados);
     Empleado buscarPorId(Long id);
-    List<Empleado> buscarPorDepartamento(String nombreDepartamento);
-    List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    String obtenerEtag(Long id);
+    String obtenerEtagListado();
+    List<EmpleadoResumen> buscarPorDepartamento(String nombreDepartamento);
+    List<EmpleadoResumen> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    long contarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
     BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId);
-    List<Empleado> obtenerTodos();
+    List<EmpleadoResumen> obtenerTodos();
+    PaginaCursor<EmpleadoResumen> obtenerPagina(String cursor, Integer tamanio, String orden);
+    long exportarTodos(Consumer<EmpleadoExportacion> consumidor);
+    List<EmpleadoCoincidencia> buscarPorNombre(String consulta, Integer limite);
     Empleado actualizar(Long id, Empleado empleado) throws EmpleadoNoEncontradoException;
+    void actualizarParcial(Long id, EmpleadoParcial cambios) throws EmpleadoNoEncontradoException;
     void eliminar(Long id);
+    ResultadoEliminacion eliminarLote(Set<Long> ids);
+    ResultadoEliminacion eliminarPorFiltro(Long departamentoId, LocalDate contratadosAntesDe);
 }
@@ -1,78 +1,485 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.config.CacheConfig;
+import com.example.sistemaGestionEmpleados.dtos.CursorPaginacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoExportacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoParcial;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.RelacionEmpleado;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
+import com.example.sistemaGestionEmpleados.dtos.VersionFila;
+import com.example.sistemaGestionEmpleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.BusquedaInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.EliminacionInvalidaException;
 import com.example.sistemaGestionEmpleados.exceptions.EmailDuplicadoException;
 import com.example.sistemaGestionEmpleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.ViolacionRestriccion;
+import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.models.Empleado;
 import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
 import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class EmpleadoServiceImpl implements EmpleadoService {
 
+    private static final Set<String> ORDENES_PAGINACION = Set.of("id", "salario", "fechaContratacion");
+    // Coincide con el fetch size de EmpleadoRepository.streamTodos
+    private static final int TAMANIO_LOTE_EXPORTACION = 500;
+    // Coincide con hibernate.jdbc.batch_size de application.yml
+    private static final int TAMANIO_LOTE_INSERCION = 50;
+    // Límite de parámetros por IN (emails existentes, resúmenes por ID)
+    private static final int TAMANIO_CONSULTA_IN = 1000;
+    // Con más IDs en el rango, un solo recorrido de idx_empleados_salario rinde más que varias consultas por ID
+    private static final int MAXIMO_IDS_DESDE_INDICE = 10_000;
+    private static final int LIMITE_BUSQUEDA_POR_DEFECTO = 20;
+    private static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+
     private final EmpleadoRepository empleadoRepository;
     private final DepartamentoRepository departamentoRepository;
+    private final EntityManager entityManager;
+    private final InvalidacionCache invalidacionCache;
+    private final IndiceNombres indiceNombres;
+    // Opcional (app.indice-salarios.habilitado): sin él, los rangos y conteos por salario van a la base
+    private final ObjectProvider<IndiceSalarios> indiceSalarios;
 
     public EmpleadoServiceImpl(EmpleadoRepository empleadoRepository,
-                               DepartamentoRepository departamentoRepository) {
+                               DepartamentoRepository departamentoRepository,
+                               EntityManager entityManager,
+                               InvalidacionCache invalidacionCache,
+                               IndiceNombres indiceNombres,
+                               ObjectProvider<IndiceSalarios> indiceSalarios) {
         this.empleadoRepository = empleadoRepository;
         this.departamentoRepository = departamentoRepository;
+        this.entityManager = entityManager;
+        this.invalidacionCache = invalidacionCache;
+        this.indiceNombres = indiceNombres;
+        this.indiceSalarios = indiceSalarios;
     }
 
     @Override
     public Empleado guardar(Empleado empleado) {
-        if (empleadoRepository.findByEmail(empleado.getEmail()).isPresent()) {
-            throw new EmailDuplicadoException("El email ya está registrado: " + empleado.getEmail());
+        try {
+            // La restricción única del email es la fuente de verdad: un solo INSERT, sin SELECT previo
+            // y sin carrera entre dos altas concurrentes con el mismo email
+            Empleado guardado = empleadoRepository.saveAndFlush(empleado);
+            invalidarRelaciones(List.of(guardado));
+            indexar(List.of(guardado));
+            return guardado;
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacionRestriccion.esEmailDuplicado(e)) {
+                throw new EmailDuplicadoException("El email ya está registrado: " + empleado.getEmail());
+            }
+            throw e;
         }
-        return empleadoRepository.save(empleado);
     }
 
     @Override
+    public ResultadoLote guardarLote(List<Empleado> empleados) {
+        Set<String> emailsExistentes = buscarEmailsExistentes(empleados);
+        Set<Long> departamentosExistentes = buscarDepartamentosExistentes(empleados);
+        Set<String> emailsDelLote = new HashSet<>();
+        List<ResultadoLote.ErrorItem> errores = new ArrayList<>();
+        List<Long> idsCreados = new ArrayList<>();
+        List<Empleado> creados = new ArrayList<>();
+
+        for (int i = 0; i < empleados.size(); i++) {
+            Empleado empleado = empleados.get(i);
+            String email = empleado.getEmail();
+            if (email == null || email.isBlank()) {
+                errores.add(new ResultadoLote.ErrorItem(i, email, "El email es obligatorio"));
+                continue;
+            }
+            if (emailsExistentes.contains(email)) {
+                errores.add(new ResultadoLote.ErrorItem(i, email, "El email ya está registrado: " + email));
+                continue;
+            }
+            Long departamentoId = empleado.getDepartamento() != null ? empleado.getDepartamento().getId() : null;
+            if (departamentoId != null && !departamentosExistentes.contains(departamentoId)) {
+                // Sin este control la FK haría fallar el INSERT y con él todo el lote
+                errores.add(new ResultadoLote.ErrorItem(i, email, "Departamento no encontrado con ID: " + departamentoId));
+                continue;
+            }
+            if (!emailsDelLote.add(email)) {
+                errores.add(new ResultadoLote.ErrorItem(i, email, "El email está repetido en el lote: " + email));
+                continue;
+            }
+
+            empleado.setId(null);
+            if (departamentoId != null) {
+                // Referencia sin SELECT: la existencia ya se verificó para todo el lote en una consulta
+                empleado.setDepartamento(departamentoRepository.getReferenceById(departamentoId));
+            }
+            entityManager.persist(empleado);
+            idsCreados.add(empleado.getId());
+            creados.add(empleado);
+
+            if (idsCreados.size() % TAMANIO_LOTE_INSERCION == 0) {
+                // Envía el batch de INSERTs y libera las entidades ya escritas
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        invalidarRelaciones(creados);
+        indexar(creados);
+
+        return new ResultadoLote(empleados.size(), idsCreados.size(), idsCreados, errores);
+    }
+
+    @Override
+    @Cacheable(CacheConfig.CACHE_EMPLEADOS)
+    @Transactional(readOnly = true)
     public Empleado buscarPorId(Long id) {
-        return empleadoRepository.findById(id)
+        return empleadoRepository.findByIdWithProyectos(id)
                 .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
     }
 
+    // Solo IDs y versiones del empleado y de sus proyectos, que son lo que muestra su JSON
     @Override
-    public List<Empleado> buscarPorDepartamento(String nombreDepartamento) {
-        return empleadoRepository.findByNombreDepartamento(nombreDepartamento);
+    @Transactional(readOnly = true)
+    public String obtenerEtag(Long id) {
+        List<VersionFila> filas = empleadoRepository.findVersiones(id);
+        if (filas.isEmpty()) {
+            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        }
+        HuellaVersiones huella = new HuellaVersiones("empleado");
+        filas.forEach(huella::agregar);
+        return huella.etag();
+    }
+
+    // Los resúmenes incluyen el nombre del departamento: un cambio en los departamentos también cambia el listado
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtagListado() {
+        return new HuellaVersiones("empleados")
+                .agregar(empleadoRepository.findHuella())
+                .agregar(departamentoRepository.findHuella())
+                .etag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmpleadoResumen> buscarPorDepartamento(String nombreDepartamento) {
+        return empleadoRepository.findResumenesByNombreDepartamento(nombreDepartamento);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmpleadoResumen> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        IndiceSalarios indice = indiceSalarios.getIfAvailable();
+        if (indice == null) {
+            return empleadoRepository.findResumenesBySalarioBetween(salarioMin, salarioMax);
+        }
+        long[] ids = indice.idsEnRango(salarioMin, salarioMax);
+        if (ids.length > MAXIMO_IDS_DESDE_INDICE) {
+            return empleadoRepository.findResumenesBySalarioBetween(salarioMin, salarioMax);
+        }
+        // El índice decide qué empleados entran; la base solo se lee por clave primaria, en el mismo orden por ID
+        Arrays.sort(ids);
+        List<EmpleadoResumen> resumenes = new ArrayList<>(ids.length);
+        for (int desde = 0; desde < ids.length; desde += TAMANIO_CONSULTA_IN) {
+            List<Long> tramo = Arrays.stream(ids, desde, Math.min(desde + TAMANIO_CONSULTA_IN, ids.length)).boxed().toList();
+            resumenes.addAll(empleadoRepository.findResumenesByIdIn(tramo));
+        }
+        return resumenes;
     }
 
+    // Con el índice se responde solo desde memoria: SUPPORTS evita abrir una transacción (y tomar una conexión)
     @Override
-    public List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
-        return empleadoRepository.findBySalarioBetween(salarioMin, salarioMax);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long contarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        IndiceSalarios indice = indiceSalarios.getIfAvailable();
+        return indice != null
+                ? indice.contarEnRango(salarioMin, salarioMax)
+                : empleadoRepository.countBySalarioBetween(salarioMin, salarioMax);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId) {
         return empleadoRepository.findAverageSalarioByDepartamento(departamentoId)
                 .orElse(BigDecimal.ZERO);
     }
 
     @Override
-    public List<Empleado> obtenerTodos() {
-        return empleadoRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<EmpleadoResumen> obtenerTodos() {
+        return empleadoRepository.findResumenes();
     }
 
     @Override
-    public Empleado actualizar(Long id, Empleado empleado) {
-        if (!empleadoRepository.existsById(id)) {
-            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+    @Transactional(readOnly = true)
+    public PaginaCursor<EmpleadoResumen> obtenerPagina(String cursor, Integer tamanio, String ordenPedido) {
+        String orden = ordenPedido == null ? "id" : ordenPedido;
+        if (!ORDENES_PAGINACION.contains(orden)) {
+            throw new PaginacionInvalidaException("Orden no soportado para empleados: " + orden);
+        }
+        int limite = PaginaCursor.normalizarTamanio(tamanio);
+        Pageable consulta = PaginaCursor.consultaPara(orden, limite);
+
+        List<EmpleadoResumen> filas;
+        if (cursor == null || cursor.isBlank()) {
+            filas = empleadoRepository.findPagina(consulta);
+        } else {
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor, orden);
+            filas = switch (orden) {
+                case "salario" -> empleadoRepository.findPaginaDespuesDeSalario(
+                        posicion.valorComoDecimal(), posicion.ultimoId(), consulta);
+                case "fechaContratacion" -> empleadoRepository.findPaginaDespuesDeFechaContratacion(
+                        posicion.valorComoFecha(), posicion.ultimoId(), consulta);
+                default -> empleadoRepository.findPaginaDespuesDeId(posicion.ultimoId(), consulta);
+            };
         }
+        return PaginaCursor.desde(filas, limite, e -> new CursorPaginacion(orden, valorDeOrden(e, orden), e.id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarTodos(Consumer<EmpleadoExportacion> consumidor) {
+        long exportados = 0;
+        try (Stream<Empleado> empleados = empleadoRepository.streamTodos()) {
+            Iterator<Empleado> iterador = empleados.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(EmpleadoExportacion.desde(iterador.next()));
+                if (++exportados % TAMANIO_LOTE_EXPORTACION == 0) {
+                    // Suelta las entidades ya escritas para que el contexto de persistencia no crezca con la tabla
+                    entityManager.clear();
+                }
+            }
+        }
+        return exportados;
+    }
+
+    // Se responde solo desde memoria: SUPPORTS evita abrir una transacción (y tomar una conexión) por búsqueda
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EmpleadoCoincidencia> buscarPorNombre(String consulta, Integer limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new BusquedaInvalidaException("El parámetro q es obligatorio");
+        }
+        int maximo = limite == null ? LIMITE_BUSQUEDA_POR_DEFECTO : limite;
+        if (maximo < 1 || maximo > LIMITE_BUSQUEDA_MAXIMO) {
+            throw new BusquedaInvalidaException("El límite debe estar entre 1 y " + LIMITE_BUSQUEDA_MAXIMO);
+        }
+        return indiceNombres.buscar(consulta, maximo);
+    }
+
+    @Override
+    public Empleado actualizar(Long id, Empleado empleado) {
+        Empleado actual = empleadoRepository.findById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+        // Se toman las relaciones antes del cambio: el departamento y los proyectos anteriores también quedan desactualizados
+        List<Empleado> afectados = new ArrayList<>(List.of(instantaneaRelaciones(actual)));
         empleado.setId(id);
-        return empleadoRepository.save(empleado);
+        // PUT reemplaza sin exigir If-Match: se toma la versión vigente para que el merge no la rechace
+        empleado.setVersion(actual.getVersion());
+        Empleado actualizado = empleadoRepository.save(empleado);
+        afectados.add(actualizado);
+        invalidacionCache.empleados(Set.of(id));
+        invalidarRelaciones(afectados);
+        indexar(List.of(actualizado));
+        return actualizado;
+    }
+
+    @Override
+    public void actualizarParcial(Long id, EmpleadoParcial cambios) {
+        Map<String, Object> campos = cambios.campos();
+        if (cambios.departamentoId() != null) {
+            // Un departamento inexistente es un 404, no una violación de la FK al ejecutar el UPDATE
+            if (!departamentoRepository.existsById(cambios.departamentoId())) {
+                throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + cambios.departamentoId());
+            }
+            campos.put("departamento", departamentoRepository.getReferenceById(cambios.departamentoId()));
+        }
+        if (campos.isEmpty()) {
+            throw new ActualizacionInvalidaException("El cuerpo no trae campos para modificar");
+        }
+        // Las relaciones solo se leen para invalidar la caché. Si cambia el departamento, el anterior también queda
+        // desactualizado y hay que leerlas antes del UPDATE; si no, solo se leen cuando el UPDATE encontró al empleado
+        List<RelacionEmpleado> relaciones = cambios.departamentoId() != null ? empleadoRepository.findRelaciones(id) : null;
+        try {
+            if (empleadoRepository.actualizarCampos(Empleado.class, id, campos) == 0) {
+                throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacionRestriccion.esEmailDuplicado(e)) {
+                throw new EmailDuplicadoException("El email ya está registrado: " + cambios.email());
+            }
+            throw e;
+        }
+        if (relaciones == null) {
+            relaciones = empleadoRepository.findRelaciones(id);
+        }
+
+        Set<Long> departamentos = new HashSet<>();
+        Set<Long> proyectos = new HashSet<>();
+        for (RelacionEmpleado relacion : relaciones) {
+            departamentos.add(relacion.departamentoId());
+            proyectos.add(relacion.proyectoId());
+        }
+        departamentos.add(cambios.departamentoId());
+        invalidacionCache.empleados(Set.of(id));
+        invalidacionCache.departamentos(departamentos);
+        invalidacionCache.proyectos(proyectos);
+
+        if (cambios.nombre() != null || cambios.apellido() != null) {
+            indiceNombres.renombrar(id, cambios.nombre(), cambios.apellido());
+        }
+        if (cambios.salario() != null) {
+            indiceSalarios.ifAvailable(indice -> indice.indexar(Map.of(id, cambios.salario())));
+        }
     }
 
     @Override
     public void eliminar(Long id) {
-        if (!empleadoRepository.existsById(id)) {
-            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        Empleado actual = empleadoRepository.findById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+        Empleado relaciones = instantaneaRelaciones(actual);
+        empleadoRepository.delete(actual);
+        invalidacionCache.empleados(Set.of(id));
+        invalidarRelaciones(List.of(relaciones));
+        quitarDeIndices(Set.of(id));
+    }
+
+    @Override
+    public ResultadoEliminacion eliminarLote(Set<Long> ids) {
+        return new ResultadoEliminacion(ids.size(), eliminarPorIds(ids));
+    }
+
+    // Primero se leen los IDs que cumplen el filtro: hacen falta para limpiar empleado_proyecto y los índices en memoria
+    @Override
+    public ResultadoEliminacion eliminarPorFiltro(Long departamentoId, LocalDate contratadosAntesDe) {
+        List<Long> ids;
+        if (departamentoId != null && contratadosAntesDe != null) {
+            ids = empleadoRepository.findIdsByDepartamentoIdAndFechaContratacionBefore(departamentoId, contratadosAntesDe);
+        } else if (departamentoId != null) {
+            ids = empleadoRepository.findIdsByDepartamentoId(departamentoId);
+        } else if (contratadosAntesDe != null) {
+            ids = empleadoRepository.findIdsByFechaContratacionBefore(contratadosAntesDe);
+        } else {
+            throw new EliminacionInvalidaException("Indique al menos un criterio: departamentoId o contratadosAntesDe");
+        }
+        return new ResultadoEliminacion(ids.size(), eliminarPorIds(ids));
+    }
+
+    // DELETE por tramos de IDs sin cargar entidades: en cada tramo, primero las filas de empleado_proyecto y después los empleados
+    private int eliminarPorIds(Collection<Long> ids) {
+        List<Long> lista = new ArrayList<>(ids);
+        int eliminados = 0;
+        for (int desde = 0; desde < lista.size(); desde += TAMANIO_CONSULTA_IN) {
+            List<Long> tramo = lista.subList(desde, Math.min(desde + TAMANIO_CONSULTA_IN, lista.size()));
+            empleadoRepository.quitarDeProyectos(tramo);
+            eliminados += empleadoRepository.eliminarPorIds(tramo);
+        }
+        if (eliminados > 0) {
+            // Las bajas masivas son poco frecuentes y tocan departamentos y proyectos sin leerlos: se vacía toda la caché
+            invalidacionCache.todo();
+            quitarDeIndices(lista);
+        }
+        return eliminados;
+    }
+
+    private String valorDeOrden(EmpleadoResumen empleado, String orden) {
+        return switch (orden) {
+            case "salario" -> empleado.salario().toPlainString();
+            case "fechaContratacion" -> empleado.fechaContratacion().toString();
+            default -> String.valueOf(empleado.id());
+        };
+    }
+
+    private Set<String> buscarEmailsExistentes(List<Empleado> empleados) {
+        List<String> emails = empleados.stream()
+                .map(Empleado::getEmail)
+                .filter(email -> email != null && !email.isBlank())
+                .distinct()
+                .toList();
+        Set<String> existentes = new HashSet<>();
+        for (int desde = 0; desde < emails.size(); desde += TAMANIO_CONSULTA_IN) {
+            List<String> tramo = emails.subList(desde, Math.min(desde + TAMANIO_CONSULTA_IN, emails.size()));
+            existentes.addAll(empleadoRepository.findEmailsExistentes(tramo));
+        }
+        return existentes;
+    }
+
+    private Set<Long> buscarDepartamentosExistentes(List<Empleado> empleados) {
+        List<Long> ids = empleados.stream()
+                .map(Empleado::getDepartamento)
+                .filter(departamento -> departamento != null && departamento.getId() != null)
+                .map(Departamento::getId)
+                .distinct()
+                .toList();
+        Set<Long> existentes = new HashSet<>();
+        for (int desde = 0; desde < ids.size(); desde += TAMANIO_CONSULTA_IN) {
+            existentes.addAll(departamentoRepository.findIdsExistentes(ids.subList(desde, Math.min(desde + TAMANIO_CONSULTA_IN, ids.size()))));
+        }
+        return existentes;
+    }
+
+    // Los índices en memoria aplican los cambios después del commit
+    private void indexar(List<Empleado> empleados) {
+        Map<Long, BigDecimal> salarios = new HashMap<>();
+        for (Empleado empleado : empleados) {
+            indiceNombres.indexar(empleado.getId(), empleado.getNombre(), empleado.getApellido());
+            salarios.put(empleado.getId(), empleado.getSalario());
+        }
+        indiceSalarios.ifAvailable(indice -> indice.indexar(salarios));
+    }
+
+    private void quitarDeIndices(Collection<Long> ids) {
+        indiceNombres.quitar(ids);
+        indiceSalarios.ifAvailable(indice -> indice.quitar(ids));
+    }
+
+    // Copia del departamento y los proyectos de un empleado gestionado, antes de que un merge los reemplace
+    private Empleado instantaneaRelaciones(Empleado empleado) {
+        Empleado copia = new Empleado();
+        copia.setDepartamento(empleado.getDepartamento());
+        copia.setProyectos(new HashSet<>(empleado.getProyectos()));
+        return copia;
+    }
+
+    // Los departamentos y proyectos cacheados incluyen a sus empleados, por eso se invalidan al escribir un empleado
+    private void invalidarRelaciones(List<Empleado> empleados) {
+        Set<Long> departamentos = new HashSet<>();
+        Set<Long> proyectos = new HashSet<>();
+        for (Empleado empleado : empleados) {
+            if (empleado.getDepartamento() != null) {
+                departamentos.add(empleado.getDepartamento().getId());
+            }
+            if (empleado.getProyectos() != null) {
+                empleado.getProyectos().forEach(proyecto -> proyectos.add(proyecto.getId()));
+            }
         }
-        empleadoRepository.deleteById(id);
+        invalidacionCache.departamentos(departamentos);
+        invalidacionCache.proyectos(proyectos);
     }
 }
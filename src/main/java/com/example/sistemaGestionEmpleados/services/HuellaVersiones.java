@@ -0,0 +1,49 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.HuellaColeccion;
+import com.example.sistemaGestionEmpleados.dtos.VersionFila;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Resume IDs y números de versión en el valor de un ETag fuerte: cambia si cambia cualquiera de ellos
+final class HuellaVersiones {
+
+    // 128 bits del SHA-256 alcanzan para que dos estados distintos no compartan ETag
+    private static final int BYTES_ETAG = 16;
+    private static final long NULO = Long.MIN_VALUE;
+
+    private final MessageDigest resumen;
+    private final ByteBuffer numero = ByteBuffer.allocate(Long.BYTES);
+
+    HuellaVersiones(String recurso) {
+        try {
+            resumen = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+        resumen.update(recurso.getBytes(StandardCharsets.UTF_8));
+    }
+
+    HuellaVersiones agregar(Long valor) {
+        numero.clear();
+        numero.putLong(valor == null ? NULO : valor);
+        resumen.update(numero.array());
+        return this;
+    }
+
+    HuellaVersiones agregar(VersionFila fila) {
+        return agregar(fila.id()).agregar(fila.version()).agregar(fila.relacionId()).agregar(fila.relacionVersion());
+    }
+
+    HuellaVersiones agregar(HuellaColeccion coleccion) {
+        return agregar(coleccion.cantidad()).agregar(coleccion.sumaIds()).agregar(coleccion.sumaVersiones());
+    }
+
+    String etag() {
+        return "\"" + HexFormat.of().formatHex(resumen.digest(), 0, BYTES_ETAG) + "\"";
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.EstadoImportacion;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportacionEmpleadosService {
+    EstadoImportacion iniciar(MultipartFile archivo);
+    EstadoImportacion obtenerEstado(String id);
+}
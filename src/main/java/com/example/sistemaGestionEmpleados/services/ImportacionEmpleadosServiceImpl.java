@@ -0,0 +1,401 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoNombre;
+import com.example.sistemaGestionEmpleados.dtos.EstadoImportacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionNoDisponibleException;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionNoEncontradaException;
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importa empleados desde un CSV en segundo plano. El archivo recibido se guarda en un temporal y un
+ * pool acotado lo recorre registro por registro: valida cada fila, resuelve el departamento por nombre
+ * con un mapa cargado una sola vez y guarda de a lotes con {@link EmpleadoService#guardarLote}, cada
+ * lote en su propia transacción. En memoria hay un solo lote a la vez, sin importar el tamaño del archivo.
+ * Sin @Transactional a nivel de clase: una transacción por todo el archivo retendría la conexión y
+ * todas las entidades hasta el final, y un error en la última fila desharía todo lo anterior.
+ */
+@Service
+public class ImportacionEmpleadosServiceImpl implements ImportacionEmpleadosService {
+
+    private static final List<String> COLUMNAS_OBLIGATORIAS = List.of("nombre", "apellido", "email", "fechaContratacion", "salario");
+    private static final String COLUMNA_DEPARTAMENTO = "departamento";
+    // Largos y precisión de las columnas de la tabla empleados
+    private static final int LARGO_MAXIMO_NOMBRE = 100;
+    private static final int LARGO_MAXIMO_EMAIL = 255;
+    private static final int DIGITOS_ENTEROS_SALARIO = 8;
+
+    private final EmpleadoService empleadoService;
+    private final DepartamentoRepository departamentoRepository;
+    private final ExecutorService ejecutor;
+    private final int tamanioLote;
+    private final int maximoErrores;
+    private final Duration retencion;
+    private final Map<String, Importacion> importaciones = new ConcurrentHashMap<>();
+
+    public ImportacionEmpleadosServiceImpl(EmpleadoService empleadoService,
+                                           DepartamentoRepository departamentoRepository,
+                                           @Value("${app.importacion.hilos:1}") int hilos,
+                                           @Value("${app.importacion.cola:4}") int cola,
+                                           @Value("${app.importacion.lote:1000}") int tamanioLote,
+                                           @Value("${app.importacion.errores-maximos:100}") int maximoErrores,
+                                           @Value("${app.importacion.retencion:24h}") Duration retencion) {
+        this.empleadoService = empleadoService;
+        this.departamentoRepository = departamentoRepository;
+        this.tamanioLote = tamanioLote;
+        this.maximoErrores = maximoErrores;
+        this.retencion = retencion;
+        AtomicInteger numero = new AtomicInteger();
+        // Con la cola llena se rechaza en lugar de acumular archivos temporales sin límite
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                tarea -> new Thread(tarea, "importacion-" + numero.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public EstadoImportacion iniciar(MultipartFile archivo) {
+        if (archivo == null || archivo.isEmpty()) {
+            throw new ImportacionInvalidaException("Falta el archivo CSV o está vacío");
+        }
+        descartarTerminadas();
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile("importacion-empleados-", ".csv");
+            // Con Tomcat el archivo subido ya está en disco: transferTo(File) lo mueve en lugar de copiarlo
+            archivo.transferTo(temporal.toFile());
+            Map<String, Integer> columnas = leerEncabezado(temporal);
+
+            Importacion importacion = new Importacion(UUID.randomUUID().toString(), Files.size(temporal), maximoErrores);
+            importaciones.put(importacion.id, importacion);
+            Path aProcesar = temporal;
+            try {
+                ejecutor.execute(() -> procesar(importacion, aProcesar, columnas));
+            } catch (RejectedExecutionException e) {
+                importaciones.remove(importacion.id);
+                throw new ImportacionNoDisponibleException("Hay demasiadas importaciones en curso, reintente más tarde");
+            }
+            // Desde acá el temporal es de la tarea, que lo borra al terminar
+            temporal = null;
+            return importacion.estado();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (temporal != null) {
+                borrar(temporal);
+            }
+        }
+    }
+
+    @Override
+    public EstadoImportacion obtenerEstado(String id) {
+        Importacion importacion = importaciones.get(id);
+        if (importacion == null) {
+            throw new ImportacionNoEncontradaException("Importación no encontrada con ID: " + id);
+        }
+        return importacion.estado();
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    // El encabezado se valida al recibir el archivo, para responder 400 en lugar de crear una importación que falla enseguida
+    private Map<String, Integer> leerEncabezado(Path archivo) throws IOException {
+        try (LectorCsv lector = abrir(Files.newInputStream(archivo))) {
+            List<String> encabezado;
+            try {
+                encabezado = lector.siguiente();
+            } catch (LectorCsv.RegistroInvalido e) {
+                throw new ImportacionInvalidaException(e.getMessage());
+            }
+            if (encabezado == null) {
+                throw new ImportacionInvalidaException("El archivo CSV no tiene encabezado");
+            }
+            Map<String, Integer> columnas = new HashMap<>();
+            for (int i = 0; i < encabezado.size(); i++) {
+                columnas.put(encabezado.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            Map<String, Integer> indices = new HashMap<>();
+            List<String> faltantes = new ArrayList<>();
+            for (String columna : COLUMNAS_OBLIGATORIAS) {
+                Integer indice = columnas.get(columna.toLowerCase(Locale.ROOT));
+                if (indice == null) {
+                    faltantes.add(columna);
+                } else {
+                    indices.put(columna, indice);
+                }
+            }
+            if (!faltantes.isEmpty()) {
+                throw new ImportacionInvalidaException("Faltan columnas en el encabezado: " + String.join(", ", faltantes));
+            }
+            Integer departamento = columnas.get(COLUMNA_DEPARTAMENTO);
+            if (departamento != null) {
+                indices.put(COLUMNA_DEPARTAMENTO, departamento);
+            }
+            return indices;
+        }
+    }
+
+    private void procesar(Importacion importacion, Path archivo, Map<String, Integer> columnas) {
+        importacion.comenzar();
+        try (FileChannel canal = FileChannel.open(archivo);
+             LectorCsv lector = abrir(Channels.newInputStream(canal))) {
+            // El encabezado ya se validó al recibir el archivo
+            lector.siguiente();
+            Map<String, Long> departamentos = departamentosPorNombre();
+            List<Empleado> lote = new ArrayList<>(tamanioLote);
+            List<Long> filas = new ArrayList<>(tamanioLote);
+
+            List<String> registro;
+            while ((registro = lector.siguiente()) != null) {
+                long fila = lector.lineaDelRegistro();
+                importacion.filaLeida();
+                try {
+                    lote.add(aEmpleado(registro, columnas, departamentos));
+                    filas.add(fila);
+                } catch (IllegalArgumentException e) {
+                    importacion.error(fila, valor(registro, columnas, "email"), e.getMessage());
+                }
+                if (lote.size() == tamanioLote) {
+                    guardar(importacion, lote, filas);
+                    // Aproximado: el lector va unos KB por delante de la última fila procesada
+                    importacion.avance(canal.position());
+                    if (Thread.currentThread().isInterrupted()) {
+                        importacion.terminar(EstadoImportacion.Estado.FALLIDA,
+                                "Se interrumpió al detener la aplicación; las filas anteriores a la " + fila + " quedaron guardadas");
+                        return;
+                    }
+                }
+            }
+            guardar(importacion, lote, filas);
+            importacion.avance(canal.size());
+            importacion.terminar(EstadoImportacion.Estado.COMPLETADA, null);
+        } catch (IOException | RuntimeException e) {
+            // Los lotes ya confirmados se conservan: el estado indica hasta dónde se llegó
+            importacion.terminar(EstadoImportacion.Estado.FALLIDA, "La importación se detuvo: " + e.getMessage());
+        } finally {
+            borrar(archivo);
+        }
+    }
+
+    private void guardar(Importacion importacion, List<Empleado> lote, List<Long> filas) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            // Cada llamada es una transacción: verifica los emails existentes y repetidos e inserta en batches JDBC
+            ResultadoLote resultado = empleadoService.guardarLote(lote);
+            importacion.creadas(resultado.creados());
+            for (ResultadoLote.ErrorItem error : resultado.errores()) {
+                importacion.error(filas.get(error.indice()), error.email(), error.mensaje());
+            }
+        } catch (RuntimeException e) {
+            // El lote se deshizo entero (por ejemplo, otra alta confirmó el mismo email mientras tanto): se informan sus filas
+            for (int i = 0; i < lote.size(); i++) {
+                importacion.error(filas.get(i), lote.get(i).getEmail(), "No se pudo guardar el lote de esta fila; puede reintentarse");
+            }
+        } finally {
+            lote.clear();
+            filas.clear();
+        }
+    }
+
+    // Los departamentos son pocos: una sola consulta de ID y nombre y después cada fila se resuelve en memoria
+    private Map<String, Long> departamentosPorNombre() {
+        Map<String, Long> departamentos = new HashMap<>();
+        for (DepartamentoNombre departamento : departamentoRepository.findNombres()) {
+            departamentos.put(clave(departamento.nombre()), departamento.id());
+        }
+        return departamentos;
+    }
+
+    private Empleado aEmpleado(List<String> registro, Map<String, Integer> columnas, Map<String, Long> departamentos) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre(texto(registro, columnas, "nombre", LARGO_MAXIMO_NOMBRE));
+        empleado.setApellido(texto(registro, columnas, "apellido", LARGO_MAXIMO_NOMBRE));
+        String email = texto(registro, columnas, "email", LARGO_MAXIMO_EMAIL);
+        if (email.indexOf('@') <= 0 || email.indexOf('@') == email.length() - 1) {
+            throw new IllegalArgumentException("El email no es válido: " + email);
+        }
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(fecha(registro, columnas));
+        empleado.setSalario(salario(registro, columnas));
+
+        String nombreDepartamento = valor(registro, columnas, COLUMNA_DEPARTAMENTO);
+        if (nombreDepartamento != null) {
+            Long departamentoId = departamentos.get(clave(nombreDepartamento));
+            if (departamentoId == null) {
+                throw new IllegalArgumentException("No existe el departamento: " + nombreDepartamento);
+            }
+            // Solo el ID: guardarLote lo convierte en una referencia sin SELECT
+            Departamento departamento = new Departamento();
+            departamento.setId(departamentoId);
+            empleado.setDepartamento(departamento);
+        }
+        return empleado;
+    }
+
+    private String texto(List<String> registro, Map<String, Integer> columnas, String columna, int largoMaximo) {
+        String valor = valor(registro, columnas, columna);
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el valor de " + columna);
+        }
+        if (valor.length() > largoMaximo) {
+            throw new IllegalArgumentException("El valor de " + columna + " supera los " + largoMaximo + " caracteres");
+        }
+        return valor;
+    }
+
+    private LocalDate fecha(List<String> registro, Map<String, Integer> columnas) {
+        String valor = texto(registro, columnas, "fechaContratacion", 10);
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("La fecha de contratación debe tener el formato yyyy-MM-dd: " + valor);
+        }
+    }
+
+    private BigDecimal salario(List<String> registro, Map<String, Integer> columnas) {
+        String valor = texto(registro, columnas, "salario", 20);
+        BigDecimal salario;
+        try {
+            salario = new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El salario no es un número: " + valor);
+        }
+        if (salario.signum() < 0 || salario.scale() > 2 || salario.precision() - salario.scale() > DIGITOS_ENTEROS_SALARIO) {
+            throw new IllegalArgumentException("El salario debe ser positivo, con hasta " + DIGITOS_ENTEROS_SALARIO
+                    + " dígitos enteros y 2 decimales: " + valor);
+        }
+        return salario;
+    }
+
+    private String valor(List<String> registro, Map<String, Integer> columnas, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // InputStreamReader reemplaza los bytes que no son UTF-8 en lugar de cortar la lectura con una excepción
+    private static LectorCsv abrir(InputStream entrada) {
+        return new LectorCsv(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+    }
+
+    private static String clave(String nombreDepartamento) {
+        return nombreDepartamento.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void descartarTerminadas() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        importaciones.values().removeIf(importacion -> importacion.terminadaAntesDe(limite));
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            // Queda en el directorio temporal del sistema; no afecta el resultado de la importación
+        }
+    }
+
+    // Solo la escribe el hilo que procesa el archivo; la lee cualquier pedido de estado
+    private static final class Importacion {
+        private final String id;
+        private final long bytesTotales;
+        private final int maximoErrores;
+        private final LocalDateTime inicio = LocalDateTime.now();
+        private final List<EstadoImportacion.ErrorFila> errores = new ArrayList<>();
+        private EstadoImportacion.Estado estado = EstadoImportacion.Estado.EN_COLA;
+        private long bytesLeidos;
+        private long filasLeidas;
+        private long filasCreadas;
+        private long filasConError;
+        private String mensaje;
+        private LocalDateTime fin;
+
+        Importacion(String id, long bytesTotales, int maximoErrores) {
+            this.id = id;
+            this.bytesTotales = bytesTotales;
+            this.maximoErrores = maximoErrores;
+        }
+
+        synchronized void comenzar() {
+            estado = EstadoImportacion.Estado.EN_CURSO;
+        }
+
+        synchronized void filaLeida() {
+            filasLeidas++;
+        }
+
+        synchronized void creadas(int cantidad) {
+            filasCreadas += cantidad;
+        }
+
+        synchronized void error(long fila, String email, String motivo) {
+            filasConError++;
+            if (errores.size() < maximoErrores) {
+                errores.add(new EstadoImportacion.ErrorFila(fila, email, motivo));
+            }
+        }
+
+        synchronized void avance(long bytes) {
+            bytesLeidos = Math.min(bytes, bytesTotales);
+        }
+
+        synchronized void terminar(EstadoImportacion.Estado resultado, String detalle) {
+            estado = resultado;
+            mensaje = detalle;
+            fin = LocalDateTime.now();
+        }
+
+        synchronized boolean terminadaAntesDe(LocalDateTime limite) {
+            return fin != null && fin.isBefore(limite);
+        }
+
+        synchronized EstadoImportacion estado() {
+            return new EstadoImportacion(id, estado, bytesTotales, bytesLeidos, filasLeidas, filasCreadas,
+                    filasConError, List.copyOf(errores), mensaje, inicio, fin);
+        }
+    }
+}
@@ -0,0 +1,563 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de nombres y apellidos de empleados para la búsqueda por nombre. Cada nombre se
+ * normaliza (sin acentos, en minúsculas) y se parte en palabras; un diccionario ordenado de palabras
+ * resuelve los prefijos y un índice de trigramas sobre ese diccionario encuentra las palabras a una o
+ * dos letras de distancia. Se carga completo al arrancar y después lo mantienen las escrituras de los
+ * servicios, aplicadas recién después del commit para no mostrar cambios que terminen en rollback.
+ * /actuator/indicenombres lo compara con la base y lo vuelve a cargar, como el índice de salarios.
+ */
+@Component
+public class IndiceNombres implements SmartInitializingSingleton {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Tope de palabras a verificar con la distancia de edición por búsqueda (como max_expansions en Elasticsearch):
+    // acota la latencia cuando el término comparte trigramas con gran parte del diccionario
+    private static final int MAXIMO_CANDIDATAS_APROXIMADAS = 512;
+    // Tope de IDs que la verificación lista como faltantes o sobrantes (los totales se cuentan completos)
+    private static final int MAXIMO_DIFERENCIAS = 100;
+
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate lectura;
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    // ID → nombre y apellido tal como se devuelven, más los números de sus palabras normalizadas
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    // Palabra normalizada → su número en el diccionario y los IDs de los empleados que la tienen
+    private final TreeMap<String, Palabra> palabras = new TreeMap<>();
+    // Número de palabra → palabra; los números de palabras que ya nadie usa se reciclan
+    private String[] palabraPorNumero = new String[1024];
+    private int siguienteNumero;
+    private final ArrayDeque<Integer> numerosLibres = new ArrayDeque<>();
+    // Trigrama → números de las palabras del diccionario que lo contienen
+    private final Map<String, ListaIds> trigramas = new HashMap<>();
+
+    public IndiceNombres(EmpleadoRepository empleadoRepository, PlatformTransactionManager transactionManager) {
+        this.empleadoRepository = empleadoRepository;
+        // Sin readOnly a propósito: con réplicas de lectura, una réplica atrasada dejaría el índice
+        // sin escrituras ya confirmadas en la primaria
+        this.lectura = new TransactionTemplate(transactionManager);
+    }
+
+    // Corre antes de que el servidor acepte pedidos: la búsqueda nunca ve un índice a medio cargar
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconstruir();
+    }
+
+    /**
+     * Vuelve a cargar el índice desde la base y devuelve la cantidad de empleados. Las búsquedas esperan
+     * mientras dura la carga; las escrituras confirmadas durante la carga se aplican al terminar.
+     */
+    public int reconstruir() {
+        candado.writeLock().lock();
+        try {
+            entradas.clear();
+            palabras.clear();
+            trigramas.clear();
+            numerosLibres.clear();
+            Arrays.fill(palabraPorNumero, null);
+            siguienteNumero = 0;
+            lectura.executeWithoutResult(estado -> {
+                try (Stream<EmpleadoCoincidencia> filas = empleadoRepository.streamNombres()) {
+                    filas.forEach(fila -> agregar(fila.id(), fila.nombre(), fila.apellido()));
+                }
+            });
+            return entradas.size();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Long id, String nombre, String apellido) {
+        TrasCommit.ejecutar(() -> {
+            candado.writeLock().lock();
+            try {
+                agregar(id, nombre, apellido);
+            } finally {
+                candado.writeLock().unlock();
+            }
+        });
+    }
+
+    // Para los cambios parciales: el nombre o el apellido que llega en null conserva el valor indexado
+    public void renombrar(Long id, String nombre, String apellido) {
+        TrasCommit.ejecutar(() -> {
+            candado.writeLock().lock();
+            try {
+                Entrada actual = entradas.get(id);
+                if (actual != null) {
+                    agregar(id, nombre != null ? nombre : actual.nombre(), apellido != null ? apellido : actual.apellido());
+                }
+            } finally {
+                candado.writeLock().unlock();
+            }
+        });
+    }
+
+    public void quitar(Collection<Long> ids) {
+        List<Long> copia = List.copyOf(ids);
+        TrasCommit.ejecutar(() -> {
+            candado.writeLock().lock();
+            try {
+                copia.forEach(this::eliminarEntrada);
+            } finally {
+                candado.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Devuelve hasta {@code limite} empleados cuyo nombre o apellido contiene todas las palabras de la
+     * consulta, cada una como palabra exacta, como prefijo o con un error de tipeo. Se parte de la palabra
+     * de la consulta con menos empleados: primero los que la tienen exacta, después por prefijo y al final
+     * los aproximados.
+     */
+    public List<EmpleadoCoincidencia> buscar(String consulta, int limite) {
+        String[] terminos = palabrasDe(consulta);
+        if (terminos.length == 0) {
+            return List.of();
+        }
+        candado.readLock().lock();
+        try {
+            Busqueda busqueda = new Busqueda(terminos, limite);
+            Termino guia = busqueda.guia;
+            if (busqueda.recorrer(palabras.get(guia.texto))) {
+                return busqueda.resultados;
+            }
+            for (Palabra palabra : palabras.subMap(guia.texto, false, guia.texto + Character.MAX_VALUE, false).values()) {
+                if (busqueda.recorrer(palabra)) {
+                    return busqueda.resultados;
+                }
+            }
+            // Las aproximadas solo se buscan si exactas y prefijos no alcanzaron el límite
+            for (String palabra : guia.aproximadas()) {
+                if (busqueda.recorrer(palabras.get(palabra))) {
+                    return busqueda.resultados;
+                }
+            }
+            return busqueda.resultados;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compara el índice con la base. Los cambios se aplican después del commit y dos transacciones sobre el
+     * mismo empleado pueden aplicarlos en el orden inverso al de sus commits: un empleado con otro nombre o
+     * apellido en el índice aparece como faltante (el de la base) y como sobrante (el del índice). Las
+     * escrituras que se confirman mientras corre pueden dar diferencias pasajeras: conviene repetirla
+     * antes de reconstruir.
+     */
+    public Verificacion verificar() {
+        Map<Long, Entrada> indexadas;
+        candado.readLock().lock();
+        try {
+            indexadas = new HashMap<>(entradas);
+        } finally {
+            candado.readLock().unlock();
+        }
+        long enIndice = indexadas.size();
+
+        return lectura.execute(estado -> {
+            Diferencias faltantes = new Diferencias();
+            Diferencias sobrantes = new Diferencias();
+            long enBase = 0;
+            try (Stream<EmpleadoCoincidencia> filas = empleadoRepository.streamNombres()) {
+                Iterator<EmpleadoCoincidencia> iterador = filas.iterator();
+                while (iterador.hasNext()) {
+                    EmpleadoCoincidencia fila = iterador.next();
+                    enBase++;
+                    Entrada entrada = indexadas.remove(fila.id());
+                    if (entrada == null) {
+                        faltantes.agregar(fila.id());
+                    } else if (!Objects.equals(entrada.nombre(), fila.nombre()) || !Objects.equals(entrada.apellido(), fila.apellido())) {
+                        faltantes.agregar(fila.id());
+                        sobrantes.agregar(fila.id());
+                    }
+                }
+            }
+            indexadas.keySet().stream().sorted().forEach(sobrantes::agregar);
+            return new Verificacion(faltantes.total == 0 && sobrantes.total == 0, enBase, enIndice,
+                    faltantes.total, sobrantes.total, faltantes.ids, sobrantes.ids);
+        });
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static String[] palabrasDe(String texto) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(normalizado.split(" ")).distinct().toArray(String[]::new);
+    }
+
+    // Distancia de edición con transposiciones (OSA); solo calcula la banda de ancho máximo alrededor de
+    // la diagonal y corta apenas una fila entera supera el máximo
+    static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) {
+            return maximo + 1;
+        }
+        int fuera = maximo + 1;
+        int[] anterior2 = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j <= maximo ? j : fuera;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int desde = Math.max(1, i - maximo);
+            int hasta = Math.min(b.length(), i + maximo);
+            actual[0] = i <= maximo ? i : fuera;
+            actual[desde - 1] = desde == 1 ? actual[0] : fuera;
+            if (hasta < b.length()) {
+                actual[hasta + 1] = fuera;
+            }
+            int minimoFila = actual[desde - 1];
+            for (int j = desde; j <= hasta; j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(anterior[j] + 1, actual[j - 1] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = Math.min(valor, fuera);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (minimoFila > maximo) {
+                return fuera;
+            }
+            int[] libre = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = libre;
+        }
+        return anterior[b.length()];
+    }
+
+    // Palabras cortas deben coincidir exacto; las medianas admiten un error y las largas dos
+    private static int erroresPermitidos(String palabra) {
+        if (palabra.length() < 3) {
+            return 0;
+        }
+        return palabra.length() < 6 ? 1 : 2;
+    }
+
+    private static Set<String> trigramasDe(String palabra) {
+        String conBordes = "$" + palabra + "$";
+        Set<String> resultado = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= conBordes.length(); i++) {
+            resultado.add(conBordes.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    private void agregar(Long id, String nombre, String apellido) {
+        eliminarEntrada(id);
+        String[] tokens = palabrasDe(nombre + " " + apellido);
+        int[] numeros = new int[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            Palabra palabra = palabras.computeIfAbsent(tokens[i], this::registrarPalabra);
+            palabra.empleados.agregar(id);
+            numeros[i] = palabra.numero;
+        }
+        entradas.put(id, new Entrada(nombre, apellido, numeros));
+    }
+
+    private void eliminarEntrada(Long id) {
+        Entrada anterior = entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (int numero : anterior.palabras()) {
+            String token = palabraPorNumero[numero];
+            Palabra palabra = palabras.get(token);
+            palabra.empleados.quitar(id);
+            if (palabra.empleados.tamanio == 0) {
+                palabras.remove(token);
+                olvidarPalabra(token, palabra.numero);
+            }
+        }
+    }
+
+    private Palabra registrarPalabra(String palabra) {
+        Integer libre = numerosLibres.poll();
+        int numero = libre != null ? libre : siguienteNumero++;
+        if (numero == palabraPorNumero.length) {
+            palabraPorNumero = Arrays.copyOf(palabraPorNumero, numero * 2);
+        }
+        palabraPorNumero[numero] = palabra;
+        for (String trigrama : trigramasDe(palabra)) {
+            trigramas.computeIfAbsent(trigrama, t -> new ListaIds()).agregar(numero);
+        }
+        return new Palabra(numero);
+    }
+
+    private void olvidarPalabra(String palabra, int numero) {
+        for (String trigrama : trigramasDe(palabra)) {
+            ListaIds conTrigrama = trigramas.get(trigrama);
+            conTrigrama.quitar(numero);
+            if (conTrigrama.tamanio == 0) {
+                trigramas.remove(trigrama);
+            }
+        }
+        palabraPorNumero[numero] = null;
+        numerosLibres.push(numero);
+    }
+
+    // Palabras del diccionario que comparten más trigramas con el término, de más a menos; la distancia se verifica después
+    private List<Integer> candidatasAproximadas(String termino, int maximo) {
+        Set<String> propios = trigramasDe(termino);
+        // Cada error (una transposición incluida) cambia como mucho cuatro trigramas
+        int minimoComunes = Math.max(1, propios.size() - 4 * maximo);
+        List<ListaIds> listas = new ArrayList<>(propios.size());
+        int total = 0;
+        for (String trigrama : propios) {
+            ListaIds conTrigrama = trigramas.get(trigrama);
+            if (conTrigrama != null) {
+                listas.add(conTrigrama);
+                total += conTrigrama.tamanio;
+            }
+        }
+        // Un contador por número de palabra y la lista de las tocadas: nada de mapas ni recorrer el diccionario entero
+        byte[] comunes = new byte[siguienteNumero];
+        int[] tocadas = new int[total];
+        int cantidadTocadas = 0;
+        int mayor = 0;
+        for (ListaIds conTrigrama : listas) {
+            for (int i = 0; i < conTrigrama.tamanio; i++) {
+                int numero = (int) conTrigrama.ids[i];
+                if (comunes[numero]++ == 0) {
+                    tocadas[cantidadTocadas++] = numero;
+                }
+                mayor = Math.max(mayor, comunes[numero]);
+            }
+        }
+        if (mayor < minimoComunes) {
+            return List.of();
+        }
+        // Se baja el umbral de trigramas en común mientras las candidatas no superen el tope
+        int[] porCantidad = new int[mayor + 1];
+        for (int i = 0; i < cantidadTocadas; i++) {
+            porCantidad[comunes[tocadas[i]]]++;
+        }
+        int umbral = mayor;
+        int acumuladas = porCantidad[mayor];
+        while (umbral > minimoComunes && acumuladas + porCantidad[umbral - 1] <= MAXIMO_CANDIDATAS_APROXIMADAS) {
+            umbral--;
+            acumuladas += porCantidad[umbral];
+        }
+        List<Integer> numeros = new ArrayList<>(acumuladas);
+        for (int i = 0; i < cantidadTocadas; i++) {
+            if (comunes[tocadas[i]] >= umbral) {
+                numeros.add(tocadas[i]);
+            }
+        }
+        numeros.sort(Comparator.comparingInt(numero -> -comunes[numero]));
+        return numeros;
+    }
+
+    // Las palabras se guardan por número: comparar contra un BitSet evita recorrer cada String del empleado
+    private record Entrada(String nombre, String apellido, int[] palabras) {
+    }
+
+    public record Verificacion(boolean consistente,
+                               long empleadosEnBase,
+                               long empleadosEnIndice,
+                               long faltantes,
+                               long sobrantes,
+                               List<Long> idsFaltantes,
+                               List<Long> idsSobrantes) {
+    }
+
+    private static final class Diferencias {
+        private long total;
+        private final List<Long> ids = new ArrayList<>();
+
+        void agregar(long id) {
+            if (total++ < MAXIMO_DIFERENCIAS) {
+                ids.add(id);
+            }
+        }
+    }
+
+    // Estado de una búsqueda: recorre candidatos de la palabra guía y filtra por el resto de los términos
+    private final class Busqueda {
+        private final Termino[] terminos;
+        private final int limite;
+        private final Termino guia;
+        // Solo se recuerdan los encontrados: un empleado se vuelve a evaluar únicamente si tiene dos palabras candidatas
+        private final Set<Long> encontrados = new HashSet<>();
+        private final List<EmpleadoCoincidencia> resultados = new ArrayList<>();
+
+        private Busqueda(String[] textos, int limite) {
+            this.limite = limite;
+            this.terminos = new Termino[textos.length];
+            // Guía: el término con menos empleados por palabra exacta o prefijo; a igualdad, el más largo
+            Termino elegido = null;
+            for (int i = 0; i < textos.length; i++) {
+                Termino termino = new Termino(textos[i]);
+                terminos[i] = termino;
+                if (elegido == null || termino.empleados < elegido.empleados
+                        || (termino.empleados == elegido.empleados && termino.texto.length() > elegido.texto.length())) {
+                    elegido = termino;
+                }
+            }
+            this.guia = elegido;
+        }
+
+        // Devuelve true cuando ya se completó el límite
+        private boolean recorrer(Palabra palabra) {
+            if (palabra == null) {
+                return false;
+            }
+            ListaIds ids = palabra.empleados;
+            for (int i = 0; i < ids.tamanio; i++) {
+                long id = ids.ids[i];
+                Entrada entrada = entradas.get(id);
+                if (coincideConTodos(entrada) && encontrados.add(id)) {
+                    resultados.add(new EmpleadoCoincidencia(id, entrada.nombre(), entrada.apellido()));
+                    if (resultados.size() >= limite) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean coincideConTodos(Entrada entrada) {
+            for (Termino termino : terminos) {
+                if (!termino.coincide(entrada.palabras())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Un término de la consulta con los números de las palabras del diccionario que acepta
+    private final class Termino {
+        private final String texto;
+        private final BitSet conPrefijo = new BitSet();
+        private final long empleados;
+        private List<String> aproximadas;
+        private BitSet aproximadasPorNumero;
+
+        private Termino(String texto) {
+            this.texto = texto;
+            long cantidad = 0;
+            for (Palabra palabra : palabras.subMap(texto, true, texto + Character.MAX_VALUE, false).values()) {
+                conPrefijo.set(palabra.numero);
+                cantidad += palabra.empleados.tamanio;
+            }
+            this.empleados = cantidad;
+        }
+
+        private boolean coincide(int[] numeros) {
+            for (int numero : numeros) {
+                if (conPrefijo.get(numero)) {
+                    return true;
+                }
+            }
+            aproximadas();
+            for (int numero : numeros) {
+                if (aproximadasPorNumero.get(numero)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Palabras a distancia permitida que no empiezan con el texto; se calculan recién cuando hacen falta
+        private List<String> aproximadas() {
+            if (aproximadas == null) {
+                aproximadas = new ArrayList<>();
+                aproximadasPorNumero = new BitSet();
+                int maximo = erroresPermitidos(texto);
+                if (maximo > 0) {
+                    for (int numero : candidatasAproximadas(texto, maximo)) {
+                        String palabra = palabraPorNumero[numero];
+                        if (!palabra.startsWith(texto) && distancia(texto, palabra, maximo) <= maximo) {
+                            aproximadas.add(palabra);
+                            aproximadasPorNumero.set(numero);
+                        }
+                    }
+                }
+            }
+            return aproximadas;
+        }
+    }
+
+    private static final class Palabra {
+        private final int numero;
+        private final ListaIds empleados = new ListaIds();
+
+        private Palabra(int numero) {
+            this.numero = numero;
+        }
+    }
+
+    // IDs de empleados (o números de palabra) ordenados en un long[]: sin un Long por elemento
+    private static final class ListaIds {
+        private long[] ids = new long[2];
+        private int tamanio;
+
+        private void agregar(long id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion >= 0) {
+                return;
+            }
+            posicion = -posicion - 1;
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, tamanio * 2);
+            }
+            System.arraycopy(ids, posicion, ids, posicion + 1, tamanio - posicion);
+            ids[posicion] = id;
+            tamanio++;
+        }
+
+        private void quitar(long id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion < 0) {
+                return;
+            }
+            System.arraycopy(ids, posicion + 1, ids, posicion, tamanio - posicion - 1);
+            tamanio--;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoSalario;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de los salarios de los empleados, opcional (app.indice-salarios.habilitado).
+ * Cada salario se guarda como centavos en un long, en dos pares de arreglos ordenados: por centavos
+ * e ID, para responder rangos y conteos con búsqueda binaria, y por ID, para ubicar el salario vigente
+ * de un empleado al actualizarlo o quitarlo. Se carga completo al arrancar y después lo mantienen las
+ * escrituras de los servicios, aplicadas recién después del commit como en {@link IndiceNombres}.
+ */
+public class IndiceSalarios implements SmartInitializingSingleton {
+
+    // Tope de IDs que la verificación lista como faltantes o sobrantes (los totales se cuentan completos)
+    private static final int MAXIMO_DIFERENCIAS = 100;
+    private static final Sort POR_SALARIO = Sort.by("salario", "id");
+    private static final BigDecimal MINIMO_CENTAVOS = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAXIMO_CENTAVOS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate lectura;
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    // Una reconstrucción a la vez; no toma el candado mientras lee la base
+    private final Object reconstruccion = new Object();
+    // Cambios confirmados mientras corre una reconstrucción, para aplicarlos también a lo cargado (null si no hay una)
+    private List<SortedMap<Long, Long>> pendientes;
+    // Claves: centavos; valores: IDs
+    private Columnas porSalario = new Columnas(0);
+    // Claves: IDs; valores: centavos
+    private Columnas porId = new Columnas(0);
+
+    public IndiceSalarios(EmpleadoRepository empleadoRepository, PlatformTransactionManager transactionManager) {
+        this.empleadoRepository = empleadoRepository;
+        // Sin readOnly a propósito: con réplicas de lectura, una réplica atrasada dejaría el índice
+        // sin escrituras ya confirmadas en la primaria
+        this.lectura = new TransactionTemplate(transactionManager);
+    }
+
+    // Corre antes de que el servidor acepte pedidos: las consultas nunca ven un índice a medio cargar
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconstruir();
+    }
+
+    /**
+     * Vuelve a cargar el índice desde la base y devuelve la cantidad de empleados. Mientras dura la carga las
+     * consultas y las escrituras siguen usando el índice actual; las escrituras confirmadas en ese lapso se
+     * guardan y se aplican también a lo cargado, y el candado se toma solo para reemplazar los arreglos.
+     */
+    public int reconstruir() {
+        synchronized (reconstruccion) {
+            candado.writeLock().lock();
+            try {
+                // Desde antes de leer: un cambio que la carga ya ve y que además queda pendiente se vuelve a
+                // aplicar con el mismo valor, sin efecto
+                pendientes = new ArrayList<>();
+            } finally {
+                candado.writeLock().unlock();
+            }
+            try {
+                Columnas cargadas = lectura.execute(estado -> {
+                    Columnas columnas = new Columnas(1024);
+                    try (Stream<EmpleadoSalario> filas = empleadoRepository.streamSalarios(POR_SALARIO)) {
+                        filas.forEach(fila -> columnas.agregarAlFinal(centavos(fila.salario(), RoundingMode.HALF_UP), fila.id()));
+                    }
+                    return columnas;
+                });
+                Columnas cargadasPorId = ordenarPorId(cargadas);
+
+                candado.writeLock().lock();
+                try {
+                    porSalario = cargadas;
+                    porId = cargadasPorId;
+                    pendientes.forEach(this::aplicarSinCandado);
+                    return porSalario.tamanio;
+                } finally {
+                    candado.writeLock().unlock();
+                }
+            } finally {
+                // También si la carga falla: el índice actual sigue vigente y se deja de guardar cambios
+                candado.writeLock().lock();
+                try {
+                    pendientes = null;
+                } finally {
+                    candado.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public void indexar(Map<Long, BigDecimal> salarios) {
+        SortedMap<Long, Long> cambios = new TreeMap<>();
+        salarios.forEach((id, salario) -> cambios.put(id, centavos(salario, RoundingMode.HALF_UP)));
+        TrasCommit.ejecutar(() -> aplicar(cambios));
+    }
+
+    public void quitar(Collection<Long> ids) {
+        // Un valor nulo indica que el empleado sale del índice
+        SortedMap<Long, Long> cambios = new TreeMap<>();
+        ids.forEach(id -> cambios.put(id, null));
+        TrasCommit.ejecutar(() -> aplicar(cambios));
+    }
+
+    /**
+     * IDs de los empleados con salario entre {@code minimo} y {@code maximo} (ambos incluidos),
+     * ordenados por salario y después por ID.
+     */
+    public long[] idsEnRango(BigDecimal minimo, BigDecimal maximo) {
+        long desde = centavos(minimo, RoundingMode.CEILING);
+        long hasta = centavos(maximo, RoundingMode.FLOOR);
+        candado.readLock().lock();
+        try {
+            int inicio = porSalario.primeraDesde(desde);
+            int fin = porSalario.primeraMayorA(hasta);
+            return inicio < fin ? Arrays.copyOfRange(porSalario.valores, inicio, fin) : new long[0];
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int contarEnRango(BigDecimal minimo, BigDecimal maximo) {
+        long desde = centavos(minimo, RoundingMode.CEILING);
+        long hasta = centavos(maximo, RoundingMode.FLOOR);
+        candado.readLock().lock();
+        try {
+            return Math.max(0, porSalario.primeraMayorA(hasta) - porSalario.primeraDesde(desde));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compara el índice con la base recorriendo ambos ordenados por salario e ID. Un empleado cuyo salario
+     * en el índice quedó desactualizado aparece como faltante (el de la base) y como sobrante (el del índice).
+     * Las escrituras que se confirman mientras corre pueden dar diferencias pasajeras: conviene repetirla
+     * antes de reconstruir.
+     */
+    public Verificacion verificar() {
+        long[] centavos;
+        long[] ids;
+        candado.readLock().lock();
+        try {
+            centavos = Arrays.copyOf(porSalario.claves, porSalario.tamanio);
+            ids = Arrays.copyOf(porSalario.valores, porSalario.tamanio);
+        } finally {
+            candado.readLock().unlock();
+        }
+
+        return lectura.execute(estado -> {
+            Diferencias faltantes = new Diferencias();
+            Diferencias sobrantes = new Diferencias();
+            long enBase = 0;
+            int i = 0;
+            try (Stream<EmpleadoSalario> filas = empleadoRepository.streamSalarios(POR_SALARIO)) {
+                Iterator<EmpleadoSalario> iterador = filas.iterator();
+                while (iterador.hasNext()) {
+                    EmpleadoSalario fila = iterador.next();
+                    enBase++;
+                    long salario = centavos(fila.salario(), RoundingMode.HALF_UP);
+                    while (i < ids.length && comparar(centavos[i], ids[i], salario, fila.id()) < 0) {
+                        sobrantes.agregar(ids[i++]);
+                    }
+                    if (i < ids.length && centavos[i] == salario && ids[i] == fila.id()) {
+                        i++;
+                    } else {
+                        faltantes.agregar(fila.id());
+                    }
+                }
+            }
+            while (i < ids.length) {
+                sobrantes.agregar(ids[i++]);
+            }
+            return new Verificacion(faltantes.total == 0 && sobrantes.total == 0, enBase, ids.length,
+                    faltantes.total, sobrantes.total, faltantes.ids, sobrantes.ids);
+        });
+    }
+
+    // Importe → centavos; los límites de un rango se redondean hacia adentro para no incluir valores fuera de él
+    static long centavos(BigDecimal importe, RoundingMode redondeo) {
+        BigDecimal enCentavos = importe.setScale(2, redondeo).movePointRight(2);
+        if (enCentavos.compareTo(MAXIMO_CENTAVOS) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (enCentavos.compareTo(MINIMO_CENTAVOS) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return enCentavos.longValueExact();
+    }
+
+    private void aplicar(SortedMap<Long, Long> cambios) {
+        candado.writeLock().lock();
+        try {
+            aplicarSinCandado(cambios);
+            if (pendientes != null) {
+                pendientes.add(cambios);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    // Requiere el candado de escritura
+    private void aplicarSinCandado(SortedMap<Long, Long> cambios) {
+        BitSet quitarPorId = new BitSet();
+        BitSet quitarPorSalario = new BitSet();
+        long[] ids = new long[cambios.size()];
+        long[] centavos = new long[cambios.size()];
+        int nuevos = 0;
+        for (Map.Entry<Long, Long> cambio : cambios.entrySet()) {
+            long id = cambio.getKey();
+            int actual = porId.buscar(id);
+            if (actual >= 0) {
+                quitarPorId.set(actual);
+                int posicion = porSalario.buscar(porId.valores[actual], id);
+                if (posicion >= 0) {
+                    quitarPorSalario.set(posicion);
+                }
+            }
+            if (cambio.getValue() != null) {
+                ids[nuevos] = id;
+                centavos[nuevos++] = cambio.getValue();
+            }
+        }
+        // Una pasada de compactación por arreglo y una inserción ordenada, sin importar cuántos cambios trae el lote
+        porId.quitar(quitarPorId);
+        porSalario.quitar(quitarPorSalario);
+        porId.insertar(ids, centavos, nuevos);
+
+        Integer[] orden = new Integer[nuevos];
+        Arrays.setAll(orden, j -> j);
+        Arrays.sort(orden, Comparator.<Integer>comparingLong(j -> centavos[j]).thenComparingLong(j -> ids[j]));
+        long[] centavosOrdenados = new long[nuevos];
+        long[] idsOrdenados = new long[nuevos];
+        for (int j = 0; j < nuevos; j++) {
+            centavosOrdenados[j] = centavos[orden[j]];
+            idsOrdenados[j] = ids[orden[j]];
+        }
+        porSalario.insertar(centavosOrdenados, idsOrdenados, nuevos);
+    }
+
+    // Los IDs no se repiten: se ordenan solos y cada salario se ubica en su posición con búsqueda binaria
+    private static Columnas ordenarPorId(Columnas porSalario) {
+        int tamanio = porSalario.tamanio;
+        Columnas porId = new Columnas(tamanio);
+        long[] ids = Arrays.copyOf(porSalario.valores, tamanio);
+        Arrays.parallelSort(ids);
+        System.arraycopy(ids, 0, porId.claves, 0, tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            porId.valores[Arrays.binarySearch(ids, porSalario.valores[i])] = porSalario.claves[i];
+        }
+        porId.tamanio = tamanio;
+        return porId;
+    }
+
+    private static int comparar(long clave, long valor, long otraClave, long otroValor) {
+        int porClave = Long.compare(clave, otraClave);
+        return porClave != 0 ? porClave : Long.compare(valor, otroValor);
+    }
+
+    public record Verificacion(boolean consistente,
+                               long empleadosEnBase,
+                               long empleadosEnIndice,
+                               long faltantes,
+                               long sobrantes,
+                               List<Long> idsFaltantes,
+                               List<Long> idsSobrantes) {
+    }
+
+    private static final class Diferencias {
+        private long total;
+        private final List<Long> ids = new ArrayList<>();
+
+        void agregar(long id) {
+            if (total++ < MAXIMO_DIFERENCIAS) {
+                ids.add(id);
+            }
+        }
+    }
+
+    // Dos arreglos paralelos ordenados por (clave, valor), con capacidad libre al final como un ArrayList
+    private static final class Columnas {
+        private long[] claves;
+        private long[] valores;
+        private int tamanio;
+
+        Columnas(int capacidad) {
+            claves = new long[capacidad];
+            valores = new long[capacidad];
+        }
+
+        void agregarAlFinal(long clave, long valor) {
+            asegurarCapacidad(tamanio + 1);
+            claves[tamanio] = clave;
+            valores[tamanio++] = valor;
+        }
+
+        // Primera posición con clave >= clave
+        int primeraDesde(long clave) {
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (claves[medio] < clave) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        // Primera posición con clave > clave
+        int primeraMayorA(long clave) {
+            int bajo = 0;
+            int alto = tamanio;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (claves[medio] <= clave) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        // Primera posición de [0, hasta) cuyo par (clave, valor) no es menor que el dado
+        int primeraNoMenor(long clave, long valor, int hasta) {
+            int bajo = 0;
+            int alto = hasta;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (comparar(claves[medio], valores[medio], clave, valor) < 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        int buscar(long clave) {
+            int posicion = primeraDesde(clave);
+            return posicion < tamanio && claves[posicion] == clave ? posicion : -1;
+        }
+
+        int buscar(long clave, long valor) {
+            int posicion = primeraNoMenor(clave, valor, tamanio);
+            return posicion < tamanio && claves[posicion] == clave && valores[posicion] == valor ? posicion : -1;
+        }
+
+        // Compacta en una pasada, moviendo de a tramos los elementos que quedan
+        void quitar(BitSet posiciones) {
+            int escritura = posiciones.nextSetBit(0);
+            if (escritura < 0) {
+                return;
+            }
+            int lectura = escritura;
+            while (true) {
+                lectura = posiciones.nextClearBit(lectura);
+                if (lectura >= tamanio) {
+                    break;
+                }
+                int fin = posiciones.nextSetBit(lectura);
+                if (fin < 0 || fin > tamanio) {
+                    fin = tamanio;
+                }
+                System.arraycopy(claves, lectura, claves, escritura, fin - lectura);
+                System.arraycopy(valores, lectura, valores, escritura, fin - lectura);
+                escritura += fin - lectura;
+                lectura = fin;
+            }
+            tamanio = escritura;
+        }
+
+        // Inserta pares ya ordenados de atrás hacia adelante: cada elemento existente se mueve una sola vez
+        void insertar(long[] nuevasClaves, long[] nuevosValores, int cantidad) {
+            asegurarCapacidad(tamanio + cantidad);
+            int fin = tamanio;
+            for (int j = cantidad - 1; j >= 0; j--) {
+                int posicion = primeraNoMenor(nuevasClaves[j], nuevosValores[j], fin);
+                System.arraycopy(claves, posicion, claves, posicion + j + 1, fin - posicion);
+                System.arraycopy(valores, posicion, valores, posicion + j + 1, fin - posicion);
+                claves[posicion + j] = nuevasClaves[j];
+                valores[posicion + j] = nuevosValores[j];
+                fin = posicion;
+            }
+            tamanio += cantidad;
+        }
+
+        private void asegurarCapacidad(int minima) {
+            if (minima > claves.length) {
+                int capacidad = Math.max(minima, claves.length + (claves.length >> 1) + 16);
+                claves = Arrays.copyOf(claves, capacidad);
+                valores = Arrays.copyOf(valores, capacidad);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Invalida las entradas de la caché de lecturas afectadas por una escritura. Las entradas
+ * guardan el grafo que se serializa (ej. un departamento con sus empleados y los proyectos
+ * de cada uno), por eso una escritura invalida también las entradas que la contienen.
+ * Al estar decorada como transaccional, la invalidación ocurre después del commit.
+ */
+@Component
+public class InvalidacionCache {
+
+    private final CacheManager cacheManager;
+
+    public InvalidacionCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void empleados(Collection<Long> ids) {
+        invalidar(CacheConfig.CACHE_EMPLEADOS, ids);
+    }
+
+    public void departamentos(Collection<Long> ids) {
+        invalidar(CacheConfig.CACHE_DEPARTAMENTOS, ids);
+    }
+
+    public void proyectos(Collection<Long> ids) {
+        invalidar(CacheConfig.CACHE_PROYECTOS, ids);
+    }
+
+    public void todo() {
+        for (String nombre : cacheManager.getCacheNames()) {
+            Objects.requireNonNull(cacheManager.getCache(nombre)).clear();
+        }
+    }
+
+    private void invalidar(String nombreCache, Collection<Long> ids) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(nombreCache));
+        ids.stream().filter(Objects::nonNull).forEach(cache::evict);
+    }
+}
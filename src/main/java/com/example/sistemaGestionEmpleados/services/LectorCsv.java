@@ -0,0 +1,149 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un CSV registro por registro sin cargar el archivo: en memoria solo está el registro actual,
+ * de hasta {@link #LARGO_MAXIMO_REGISTRO} caracteres.
+ * Soporta separador coma o punto y coma, campos entre comillas con "" como comilla escapada
+ * y saltos de línea dentro de un campo entre comillas (RFC 4180).
+ */
+final class LectorCsv implements Closeable {
+
+    // Ni una línea sin saltos ni un campo con comillas sin cerrar deben llevar el resto del archivo a memoria
+    static final int LARGO_MAXIMO_REGISTRO = 64 * 1024;
+
+    private final BufferedReader lector;
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+    // Después de un \r se descarta el \n que lo sigue, como en BufferedReader.readLine
+    private boolean saltarNuevaLinea;
+    private final StringBuilder lineaLeida = new StringBuilder();
+    private char separador;
+    private long lineaActual;
+    private long lineaDelRegistro;
+
+    LectorCsv(BufferedReader lector) {
+        this.lector = lector;
+    }
+
+    /** El siguiente registro, o null al terminar el archivo. Las líneas vacías se saltean. */
+    List<String> siguiente() throws IOException {
+        String linea;
+        do {
+            linea = leerLinea(LARGO_MAXIMO_REGISTRO, false);
+            if (linea == null) {
+                return null;
+            }
+            lineaActual++;
+        } while (linea.isBlank());
+        lineaDelRegistro = lineaActual;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        int i = 0;
+        if (separador == 0) {
+            // BOM de UTF-8 que dejan algunas planillas al exportar
+            if (linea.startsWith("\uFEFF")) {
+                i = 1;
+            }
+            // El separador se deduce del encabezado: el que aparezca primero
+            int coma = linea.indexOf(',');
+            int puntoYComa = linea.indexOf(';');
+            separador = puntoYComa >= 0 && (coma < 0 || puntoYComa < coma) ? ';' : ',';
+        }
+        while (true) {
+            if (i == linea.length()) {
+                if (!entreComillas) {
+                    break;
+                }
+                // El campo entre comillas sigue en la línea siguiente
+                String continuacion = leerLinea(LARGO_MAXIMO_REGISTRO - campo.length(), true);
+                if (continuacion == null) {
+                    throw new RegistroInvalido("Comillas sin cerrar en el registro de la línea " + lineaDelRegistro);
+                }
+                lineaActual++;
+                campo.append('\n');
+                linea = continuacion;
+                i = 0;
+                continue;
+            }
+            char c = linea.charAt(i++);
+            if (entreComillas) {
+                if (c == '"' && i < linea.length() && linea.charAt(i) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Como readLine, pero deja de leer al pasar el máximo en lugar de juntar la línea entera en memoria
+    private String leerLinea(int maximo, boolean continuacion) throws IOException {
+        lineaLeida.setLength(0);
+        while (true) {
+            if (posicion == limite) {
+                limite = lector.read(buffer, 0, buffer.length);
+                posicion = 0;
+                if (limite <= 0) {
+                    limite = 0;
+                    return lineaLeida.isEmpty() ? null : lineaLeida.toString();
+                }
+            }
+            char c = buffer[posicion++];
+            if (saltarNuevaLinea) {
+                saltarNuevaLinea = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '\n' || c == '\r') {
+                saltarNuevaLinea = c == '\r';
+                return lineaLeida.toString();
+            }
+            if (lineaLeida.length() >= maximo) {
+                throw new RegistroInvalido(continuacion
+                        ? "Comillas sin cerrar en el registro de la línea " + lineaDelRegistro
+                        : "La línea " + (lineaActual + 1) + " supera el largo máximo de " + LARGO_MAXIMO_REGISTRO + " caracteres");
+            }
+            lineaLeida.append(c);
+        }
+    }
+
+    /** Número de línea (desde 1) en que empieza el último registro leído. */
+    long lineaDelRegistro() {
+        return lineaDelRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+
+    /** El archivo no es un CSV que se pueda leer, a diferencia de un error de entrada/salida. */
+    static final class RegistroInvalido extends IOException {
+
+        RegistroInvalido(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.dtos.CambioMiembros;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoParcial;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
 import com.example.sistemaGestionEmpleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 
 public interface ProyectoService {
     Proyecto guardar(Proyecto proyecto);
     Proyecto buscarPorId(Long id);
-    List<Proyecto> obtenerTodos();
+    String obtenerEtag(Long id);
+    String obtenerEtagListado();
+    List<ProyectoResumen> obtenerTodos();
+    PaginaCursor<ProyectoResumen> obtenerPagina(String cursor, Integer tamanio, String orden);
     Proyecto actualizar(Long id, Proyecto proyecto) throws ProyectoNoEncontradoException;
-    List<Proyecto> buscarPorProyectosActivos();
+    void actualizarParcial(Long id, ProyectoParcial cambios) throws ProyectoNoEncontradoException;
+    List<ProyectoResumen> buscarPorProyectosActivos();
     void eliminar(Long id);
+    ResultadoEliminacion eliminarLote(Set<Long> ids);
+    ResultadoEliminacion eliminarFinalizadosAntesDe(LocalDate fecha);
     Proyecto asignarEmpleadosAProyecto(Long proyectoId, Set<Long> empleadoIds);
+    CambioMiembros agregarEmpleadosAProyecto(Long proyectoId, Set<Long> empleadoIds);
+    CambioMiembros quitarEmpleadosDeProyecto(Long proyectoId, Set<Long> empleadoIds);
 }
@@ -1,28 +1,51 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.config.CacheConfig;
+import com.example.sistemaGestionEmpleados.dtos.CambioMiembros;
+import com.example.sistemaGestionEmpleados.dtos.CursorPaginacion;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoParcial;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.VersionFila;
+import com.example.sistemaGestionEmpleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.EliminacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
 import com.example.sistemaGestionEmpleados.exceptions.ProyectoNoEncontradoException;
-import com.example.sistemaGestionEmpleados.models.Empleado;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
 import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
 import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
-import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToIntFunction;
 
 @Service
 @Transactional
 public class ProyectoServiceImpl implements ProyectoService {
 
+    private static final Set<String> ORDENES_PAGINACION = Set.of("id", "nombre");
+    // Límite de parámetros por IN al modificar miembros
+    private static final int TAMANIO_TRAMO_IDS = 1000;
+
     private final ProyectoRepository proyectoRepository;
     private final EmpleadoRepository empleadoRepository;
+    private final InvalidacionCache invalidacionCache;
 
-    public ProyectoServiceImpl(ProyectoRepository proyectoRepository, EmpleadoRepository empleadoRepository) {
+    public ProyectoServiceImpl(ProyectoRepository proyectoRepository, EmpleadoRepository empleadoRepository,
+                               InvalidacionCache invalidacionCache) {
         this.proyectoRepository = proyectoRepository;
         this.empleadoRepository = empleadoRepository;
+        this.invalidacionCache = invalidacionCache;
     }
 
     @Override
@@ -31,23 +54,89 @@ public class ProyectoServiceImpl implements ProyectoService {
     }
 
     @Override
+    @Cacheable(CacheConfig.CACHE_PROYECTOS)
+    @Transactional(readOnly = true)
     public Proyecto buscarPorId(Long id) {
-        return proyectoRepository.findById(id)
+        return proyectoRepository.findByIdWithEmpleados(id)
                 .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
     }
 
+    // Solo IDs y versiones del proyecto y de sus miembros, que son lo que muestra su JSON
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtag(Long id) {
+        List<VersionFila> filas = proyectoRepository.findVersiones(id);
+        if (filas.isEmpty()) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
+        }
+        HuellaVersiones huella = new HuellaVersiones("proyecto");
+        filas.forEach(huella::agregar);
+        return huella.etag();
+    }
+
+    // Los resúmenes incluyen la cantidad de miembros, que cambia sin subir la versión del proyecto
+    @Override
+    @Transactional(readOnly = true)
+    public String obtenerEtagListado() {
+        return new HuellaVersiones("proyectos")
+                .agregar(proyectoRepository.findHuella())
+                .agregar(proyectoRepository.findHuellaMiembros())
+                .etag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProyectoResumen> obtenerTodos() {
+        return proyectoRepository.findResumenes();
+    }
+
     @Override
-    public List<Proyecto> obtenerTodos() {
-        return proyectoRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaCursor<ProyectoResumen> obtenerPagina(String cursor, Integer tamanio, String ordenPedido) {
+        String orden = ordenPedido == null ? "id" : ordenPedido;
+        if (!ORDENES_PAGINACION.contains(orden)) {
+            throw new PaginacionInvalidaException("Orden no soportado para proyectos: " + orden);
+        }
+        int limite = PaginaCursor.normalizarTamanio(tamanio);
+        Pageable consulta = PaginaCursor.consultaPara(orden, limite);
+
+        List<ProyectoResumen> filas;
+        if (cursor == null || cursor.isBlank()) {
+            filas = proyectoRepository.findPagina(consulta);
+        } else {
+            CursorPaginacion posicion = CursorPaginacion.decodificar(cursor, orden);
+            filas = "nombre".equals(orden)
+                    ? proyectoRepository.findPaginaDespuesDeNombre(posicion.valor(), posicion.ultimoId(), consulta)
+                    : proyectoRepository.findPaginaDespuesDeId(posicion.ultimoId(), consulta);
+        }
+        return PaginaCursor.desde(filas, limite, p -> new CursorPaginacion(orden,
+                "nombre".equals(orden) ? p.nombre() : String.valueOf(p.id()), p.id()));
     }
 
     @Override
     public Proyecto actualizar(Long id, Proyecto proyecto) {
-        if (!proyectoRepository.existsById(id)) {
+        Long version = proyectoRepository.findVersionById(id)
+                .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
+        proyecto.setId(id);
+        // PUT reemplaza sin exigir If-Match: se toma la versión vigente para que el merge no la rechace
+        proyecto.setVersion(version);
+        Proyecto actualizado = proyectoRepository.save(proyecto);
+        invalidarConMiembros(id, proyectoRepository.findIdsEmpleados(id));
+        return actualizado;
+    }
+
+    // Un único UPDATE con los campos recibidos: la existencia la decide la cantidad de filas, sin SELECT previo.
+    // Los miembros solo se leen si el proyecto existía, para invalidar las entradas cacheadas que lo incluyen
+    @Override
+    public void actualizarParcial(Long id, ProyectoParcial cambios) {
+        Map<String, Object> campos = cambios.campos();
+        if (campos.isEmpty()) {
+            throw new ActualizacionInvalidaException("El cuerpo no trae campos para modificar");
+        }
+        if (proyectoRepository.actualizarCampos(Proyecto.class, id, campos) == 0) {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
         }
-        proyecto.setId(id);
-        return proyectoRepository.save(proyecto);
+        invalidarConMiembros(id, proyectoRepository.findIdsEmpleados(id));
     }
 
     @Override
@@ -55,39 +144,104 @@ public class ProyectoServiceImpl implements ProyectoService {
         if (!proyectoRepository.existsById(id)) {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
         }
+        invalidarConMiembros(id, proyectoRepository.findIdsEmpleados(id));
         proyectoRepository.deleteById(id);
     }
 
     @Override
-    public List<Proyecto> buscarPorProyectosActivos(){
-        return proyectoRepository.findByFechaFinAfter(LocalDate.now());
+    public ResultadoEliminacion eliminarLote(Set<Long> ids) {
+        return new ResultadoEliminacion(ids.size(), eliminarPorIds(ids));
     }
 
     @Override
-    public Proyecto asignarEmpleadosAProyecto(Long proyectoId, Set<Long> empleadosIds) {
-        // 1. Buscas el proyecto
-        Proyecto proyecto = buscarPorId(proyectoId);
+    public ResultadoEliminacion eliminarFinalizadosAntesDe(LocalDate fecha) {
+        // Sin fecha no hay filtro: se rechaza con 400 en lugar de no borrar nada en silencio
+        if (fecha == null) {
+            throw new EliminacionInvalidaException("Indique la fecha: finalizadosAntesDe");
+        }
+        List<Long> ids = proyectoRepository.findIdsByFechaFinBefore(fecha);
+        return new ResultadoEliminacion(ids.size(), eliminarPorIds(ids));
+    }
 
-        // 2. Buscas los nuevos empleados
-        Set<Empleado> nuevosEmpleados = new HashSet<>(empleadoRepository.findAllById(empleadosIds));
+    // En cada tramo se quitan primero las filas de empleado_proyecto, porque la FK no borra en cascada
+    private int eliminarPorIds(Collection<Long> ids) {
+        int eliminados = porTramos(ids, tramo -> {
+            proyectoRepository.quitarTodosLosEmpleados(tramo);
+            return proyectoRepository.eliminarPorIds(tramo);
+        });
+        if (eliminados > 0) {
+            // Los miembros no se leen: las bajas masivas son poco frecuentes y se vacía toda la caché
+            invalidacionCache.todo();
+        }
+        return eliminados;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProyectoResumen> buscarPorProyectosActivos(){
+        return proyectoRepository.findResumenesActivos(LocalDate.now());
+    }
+
+    @Override
+    public Proyecto asignarEmpleadosAProyecto(Long proyectoId, Set<Long> empleadosIds) {
+        if (!proyectoRepository.existsById(proyectoId)) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId);
+        }
+        // Solo se tocan las filas de empleado_proyecto que cambian: se comparan los IDs, sin cargar entidades
+        Set<Long> actuales = new HashSet<>(proyectoRepository.findIdsEmpleados(proyectoId));
+        Set<Long> aQuitar = new HashSet<>(actuales);
+        aQuitar.removeAll(empleadosIds);
+        Set<Long> aAgregar = new HashSet<>(empleadosIds);
+        aAgregar.removeAll(actuales);
+
+        porTramos(aQuitar, tramo -> proyectoRepository.quitarEmpleados(proyectoId, tramo));
+        porTramos(aAgregar, tramo -> proyectoRepository.agregarEmpleados(proyectoId, tramo));
+
+        // Se invalidan el proyecto y solo los empleados que entraron o salieron
+        Set<Long> miembrosAfectados = new HashSet<>(aQuitar);
+        miembrosAfectados.addAll(aAgregar);
+        invalidarConMiembros(proyectoId, miembrosAfectados);
+        return proyectoRepository.findByIdWithEmpleados(proyectoId)
+                .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId));
+    }
 
-        // 3. Desvincular los empleados antiguos
-        // Se crea una copia para evitar ConcurrentModificationException
-        Set<Empleado> empleadosAntiguos = new HashSet<>(proyecto.getEmpleados());
-        for (Empleado empleadoAntiguo : empleadosAntiguos) {
-            empleadoAntiguo.getProyectos().remove(proyecto);
+    @Override
+    public CambioMiembros agregarEmpleadosAProyecto(Long proyectoId, Set<Long> empleadosIds) {
+        if (!proyectoRepository.existsById(proyectoId)) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId);
         }
+        // El INSERT ignora los que ya son miembros y los IDs inexistentes
+        int agregados = porTramos(empleadosIds, tramo -> proyectoRepository.agregarEmpleados(proyectoId, tramo));
+        invalidarConMiembros(proyectoId, empleadosIds);
+        return new CambioMiembros(proyectoId, empleadosIds.size(), agregados);
+    }
 
-        // 4. Limpiar la lista actual del proyecto
-        proyecto.getEmpleados().clear();
+    @Override
+    public CambioMiembros quitarEmpleadosDeProyecto(Long proyectoId, Set<Long> empleadosIds) {
+        if (!proyectoRepository.existsById(proyectoId)) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + proyectoId);
+        }
+        int quitados = porTramos(empleadosIds, tramo -> proyectoRepository.quitarEmpleados(proyectoId, tramo));
+        invalidarConMiembros(proyectoId, empleadosIds);
+        return new CambioMiembros(proyectoId, empleadosIds.size(), quitados);
+    }
 
-        // 5. Sincronizar la relación desde ambos lados para los nuevos empleados
-        for (Empleado nuevoEmpleado : nuevosEmpleados) {
-            proyecto.getEmpleados().add(nuevoEmpleado);
-            nuevoEmpleado.getProyectos().add(proyecto);
+    // Parte los IDs en tramos para no superar el límite de parámetros de un IN; devuelve el total de filas afectadas
+    private int porTramos(Collection<Long> ids, ToIntFunction<List<Long>> operacion) {
+        List<Long> lista = new ArrayList<>(ids);
+        int afectadas = 0;
+        for (int desde = 0; desde < lista.size(); desde += TAMANIO_TRAMO_IDS) {
+            afectadas += operacion.applyAsInt(lista.subList(desde, Math.min(desde + TAMANIO_TRAMO_IDS, lista.size())));
         }
+        return afectadas;
+    }
 
-        // 6. Guardar la entidad propietaria de la relación
-        return proyectoRepository.save(proyecto);
+    // Los empleados cacheados (y los departamentos que los contienen) incluyen los datos de sus proyectos
+    private void invalidarConMiembros(Long proyectoId, Collection<Long> empleadoIds) {
+        invalidacionCache.proyectos(Set.of(proyectoId));
+        if (!empleadoIds.isEmpty()) {
+            invalidacionCache.empleados(empleadoIds);
+            invalidacionCache.departamentos(empleadoRepository.findIdsDepartamentos(empleadoIds));
+        }
     }
 }
@@ -0,0 +1,7 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.ReporteDepartamento;
+
+public interface ReporteDepartamentoService {
+    ReporteDepartamento generar(Long departamentoId);
+}
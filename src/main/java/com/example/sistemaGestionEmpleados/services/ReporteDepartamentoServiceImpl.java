@@ -0,0 +1,130 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ReporteDepartamento;
+import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.ReporteNoDisponibleException;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Arma el reporte de un departamento lanzando sus consultas en paralelo, cada una en su propia
+ * transacción de solo lectura sobre un pool acotado. Sin @Transactional a nivel de clase: el hilo
+ * del pedido solo espera los resultados y no debe retener una conexión mientras tanto.
+ */
+@Service
+public class ReporteDepartamentoServiceImpl implements ReporteDepartamentoService {
+
+    private final DepartamentoRepository departamentoRepository;
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final TransactionTemplate lectura;
+    private final ExecutorService ejecutor;
+    private final Duration plazo;
+
+    public ReporteDepartamentoServiceImpl(DepartamentoRepository departamentoRepository,
+                                          EmpleadoRepository empleadoRepository,
+                                          ProyectoRepository proyectoRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.reportes.hilos:8}") int hilos,
+                                          @Value("${app.reportes.cola:64}") int cola,
+                                          @Value("${app.reportes.plazo:2s}") Duration plazo) {
+        this.departamentoRepository = departamentoRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.plazo = plazo;
+        // El timeout de la transacción se aplica como timeout de cada sentencia: una consulta trabada no
+        // sigue ocupando una conexión mucho después de vencido el plazo del reporte
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setTimeout((int) Math.max(1, Math.ceil(plazo.toMillis() / 1000.0)));
+        AtomicInteger numero = new AtomicInteger();
+        // Con la cola llena se rechaza en lugar de encolar sin límite: cada reporte ya tiene un plazo
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                tarea -> new Thread(tarea, "reporte-" + numero.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public ReporteDepartamento generar(Long departamentoId) {
+        long limite = System.nanoTime() + plazo.toNanos();
+        List<Future<?>> lanzadas = new ArrayList<>();
+        try {
+            Future<Optional<DepartamentoResumen>> departamento = lanzar(lanzadas,
+                    () -> departamentoRepository.findResumenById(departamentoId));
+            Future<Optional<BigDecimal>> promedio = lanzar(lanzadas,
+                    () -> empleadoRepository.findAverageSalarioByDepartamento(departamentoId));
+            Future<List<EmpleadoResumen>> empleados = lanzar(lanzadas,
+                    () -> empleadoRepository.findResumenesByDepartamentoId(departamentoId));
+            Future<List<ProyectoResumen>> proyectos = lanzar(lanzadas,
+                    () -> proyectoRepository.findResumenesActivosByDepartamentoId(departamentoId, LocalDate.now()));
+
+            DepartamentoResumen resumen = esperar(departamento, limite)
+                    .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + departamentoId));
+            return new ReporteDepartamento(resumen,
+                    esperar(promedio, limite).orElse(BigDecimal.ZERO),
+                    esperar(empleados, limite),
+                    esperar(proyectos, limite));
+        } finally {
+            // Las que no terminaron a tiempo (o quedaron sin sentido tras un error) se interrumpen
+            lanzadas.forEach(tarea -> tarea.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    private <T> Future<T> lanzar(List<Future<?>> lanzadas, Supplier<T> consulta) {
+        try {
+            Future<T> tarea = ejecutor.submit(() -> lectura.execute(estado -> consulta.get()));
+            lanzadas.add(tarea);
+            return tarea;
+        } catch (RejectedExecutionException e) {
+            throw new ReporteNoDisponibleException("Hay demasiados reportes en curso, reintente en unos segundos");
+        }
+    }
+
+    private <T> T esperar(Future<T> tarea, long limite) {
+        try {
+            return tarea.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ReporteNoDisponibleException("El reporte no se completó en " + plazo.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReporteNoDisponibleException("El reporte se interrumpió antes de completarse");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
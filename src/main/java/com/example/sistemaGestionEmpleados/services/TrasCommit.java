@@ -0,0 +1,24 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Los índices en memoria aplican los cambios recién después del commit, para no mostrar escrituras que terminen en rollback
+final class TrasCommit {
+
+    private TrasCommit() {
+    }
+
+    static void ejecutar(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+-- Esquema de las entidades Departamento, Empleado y Proyecto (antes generado por ddl-auto)
+
+CREATE TABLE departamentos (
+    id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    nombre      VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    CONSTRAINT uk_departamentos_nombre UNIQUE (nombre)
+) ENGINE = InnoDB;
+
+CREATE TABLE proyectos (
+    id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    nombre       VARCHAR(100) NOT NULL,
+    descripcion  VARCHAR(1000),
+    fecha_inicio DATE,
+    fecha_fin    DATE
+) ENGINE = InnoDB;
+
+-- MySQL no tiene secuencias: Hibernate usa esta tabla de una fila y reserva IDs de a 50
+CREATE TABLE empleados_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO empleados_seq VALUES (1);
+
+CREATE TABLE empleados (
+    id                 BIGINT         NOT NULL PRIMARY KEY,
+    nombre             VARCHAR(100)   NOT NULL,
+    apellido           VARCHAR(100)   NOT NULL,
+    email              VARCHAR(255)   NOT NULL,
+    fecha_contratacion DATE           NOT NULL,
+    salario            DECIMAL(10, 2) NOT NULL,
+    departamento_id    BIGINT,
+    CONSTRAINT uk_empleados_email UNIQUE (email),
+    CONSTRAINT fk_empleados_departamento FOREIGN KEY (departamento_id) REFERENCES departamentos (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE empleado_proyecto (
+    empleado_id BIGINT NOT NULL,
+    proyecto_id BIGINT NOT NULL,
+    PRIMARY KEY (empleado_id, proyecto_id),
+    CONSTRAINT fk_empleado_proyecto_empleado FOREIGN KEY (empleado_id) REFERENCES empleados (id),
+    CONSTRAINT fk_empleado_proyecto_proyecto FOREIGN KEY (proyecto_id) REFERENCES proyectos (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,8 @@
+-- Columna de versión de @Version: Hibernate la incrementa en cada UPDATE y de ella salen los ETag
+-- de GET /api/{empleados,departamentos,proyectos}/{id}. Las filas existentes arrancan en 0.
+
+ALTER TABLE departamentos ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE empleados ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE proyectos ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
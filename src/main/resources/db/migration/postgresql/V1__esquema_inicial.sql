@@ -0,0 +1,39 @@
+-- Esquema de las entidades Departamento, Empleado y Proyecto (antes generado por ddl-auto)
+
+CREATE TABLE departamentos (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre      VARCHAR(100) NOT NULL,
+    descripcion VARCHAR(500),
+    CONSTRAINT uk_departamentos_nombre UNIQUE (nombre)
+);
+
+CREATE TABLE proyectos (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nombre       VARCHAR(100) NOT NULL,
+    descripcion  VARCHAR(1000),
+    fecha_inicio DATE,
+    fecha_fin    DATE
+);
+
+-- IDs de a bloques de 50 (allocationSize de Empleado) para poder agrupar los INSERT en batches
+CREATE SEQUENCE empleados_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE empleados (
+    id                 BIGINT PRIMARY KEY,
+    nombre             VARCHAR(100)   NOT NULL,
+    apellido           VARCHAR(100)   NOT NULL,
+    email              VARCHAR(255)   NOT NULL,
+    fecha_contratacion DATE           NOT NULL,
+    salario            NUMERIC(10, 2) NOT NULL,
+    departamento_id    BIGINT,
+    CONSTRAINT uk_empleados_email UNIQUE (email),
+    CONSTRAINT fk_empleados_departamento FOREIGN KEY (departamento_id) REFERENCES departamentos (id)
+);
+
+CREATE TABLE empleado_proyecto (
+    empleado_id BIGINT NOT NULL,
+    proyecto_id BIGINT NOT NULL,
+    PRIMARY KEY (empleado_id, proyecto_id),
+    CONSTRAINT fk_empleado_proyecto_empleado FOREIGN KEY (empleado_id) REFERENCES empleados (id),
+    CONSTRAINT fk_empleado_proyecto_proyecto FOREIGN KEY (proyecto_id) REFERENCES proyectos (id)
+);
@@ -0,0 +1,20 @@
+-- Índices para los filtros y órdenes de los repositorios. Las columnas de orden terminan en id
+-- para que la paginación por cursor (campo, id) se resuelva recorriendo el índice.
+
+-- findResumenesBySalarioBetween / findBySalarioBetween y páginas ordenadas por salario
+CREATE INDEX idx_empleados_salario ON empleados (salario, id);
+
+-- findByFechaContratacionAfter y páginas ordenadas por fecha de contratación
+CREATE INDEX idx_empleados_fecha_contratacion ON empleados (fecha_contratacion, id);
+
+-- Empleados de un departamento, promedio salarial y JOIN con departamentos
+CREATE INDEX idx_empleados_departamento ON empleados (departamento_id);
+
+-- findResumenesActivos / findByFechaFinAfter
+CREATE INDEX idx_proyectos_fecha_fin ON proyectos (fecha_fin);
+
+-- Páginas de proyectos ordenadas por nombre
+CREATE INDEX idx_proyectos_nombre ON proyectos (nombre, id);
+
+-- Lado inverso de la tabla de unión: miembros de un proyecto (la clave primaria empieza por empleado_id)
+CREATE INDEX idx_empleado_proyecto_proyecto ON empleado_proyecto (proyecto_id, empleado_id);
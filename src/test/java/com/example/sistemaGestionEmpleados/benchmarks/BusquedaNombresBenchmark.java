@@ -0,0 +1,126 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.services.IndiceNombres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Latencia de GET /api/empleados/buscar sin HTTP ni base: el índice de nombres se llena en memoria con
+ * nombres sintéticos (sílabas al azar, algunas con acento) y se compara contra recorrer todos los nombres.
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@jmh -Djmh.filtro=BusquedaNombresBenchmark -Djmh.empleados=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class BusquedaNombresBenchmark {
+    private static final String[] SILABAS = {"ma", "ri", "jo", "sé", "lu", "ca", "an", "to", "ni", "pe",
+            "dro", "gon", "zá", "lez", "fer", "nan", "dez", "ro", "drí", "guez", "mar", "tín", "gar", "cía",
+            "san", "chez", "ra", "mí", "be", "sa", "la", "ve", "ga", "al", "var", "re", "yes"};
+    private static final int LIMITE = 20;
+
+    @Param({"1000000"})
+    public int empleados;
+
+    private IndiceNombres indice;
+    private String[] nombresNormalizados;
+    private List<String> palabras;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Sin transacción activa indexar aplica el cambio al instante; la carga desde la base no se usa
+        indice = new IndiceNombres(mock(EmpleadoRepository.class), mock(PlatformTransactionManager.class));
+        nombresNormalizados = new String[empleados];
+        palabras = new ArrayList<>();
+        Random azar = new Random(42);
+        for (int i = 0; i < empleados; i++) {
+            String nombre = palabra(azar);
+            String apellido = palabra(azar) + " " + palabra(azar);
+            indice.indexar((long) i + 1, nombre, apellido);
+            nombresNormalizados[i] = (nombre + " " + apellido).toLowerCase(Locale.ROOT);
+            if (i % 100 == 0) {
+                palabras.add(apellido.substring(0, apellido.indexOf(' ')).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<EmpleadoCoincidencia> prefijo() {
+        String palabra = palabraAlAzar();
+        return indice.buscar(palabra.substring(0, Math.min(3, palabra.length())), LIMITE);
+    }
+
+    @Benchmark
+    public List<EmpleadoCoincidencia> palabraCompleta() {
+        return indice.buscar(palabraAlAzar(), LIMITE);
+    }
+
+    @Benchmark
+    public List<EmpleadoCoincidencia> conErrorDeTipeo() {
+        return indice.buscar(transponer(palabraAlAzar()), LIMITE);
+    }
+
+    @Benchmark
+    public List<String> recorridoLineal() {
+        // Referencia: lo que costaría un LIKE '%texto%' sin índice, ya en memoria
+        String buscada = palabraAlAzar();
+        List<String> resultado = new ArrayList<>();
+        for (String nombre : nombresNormalizados) {
+            if (nombre.contains(buscada) && resultado.add(nombre) && resultado.size() == LIMITE) {
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    private String palabraAlAzar() {
+        return palabras.get(ThreadLocalRandom.current().nextInt(palabras.size()));
+    }
+
+    // Intercambia dos letras del medio: un error de tipeo típico
+    private static String transponer(String palabra) {
+        if (palabra.length() < 4) {
+            return palabra;
+        }
+        int i = palabra.length() / 2;
+        char[] letras = palabra.toCharArray();
+        char letra = letras[i];
+        letras[i] = letras[i - 1];
+        letras[i - 1] = letra;
+        return new String(letras);
+    }
+
+    private static String palabra(Random azar) {
+        StringBuilder palabra = new StringBuilder();
+        int silabas = 2 + azar.nextInt(2);
+        for (int i = 0; i < silabas; i++) {
+            palabra.append(SILABAS[azar.nextInt(SILABAS.length)]);
+        }
+        palabra.setCharAt(0, Character.toUpperCase(palabra.charAt(0)));
+        return palabra.toString();
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.SistemaGestionEmpleadosApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Generador de carga HTTP de lazo abierto: envía pedidos a una tasa fija sin esperar a que
+ * terminen los anteriores, con una mezcla de lecturas y escrituras sobre empleados, departamentos
+ * y proyectos.
+ * <p>
+ * La latencia de cada pedido se mide desde el instante en que debía enviarse según la tasa, no
+ * desde que se envió. Si el servidor se atrasa, la espera acumulada cuenta en los percentiles
+ * (corrección de omisión coordinada).
+ * <p>
+ * Sin carga.url levanta la aplicación en este proceso con el perfil h2 y un puerto libre.
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@carga -Dcarga.tasa=500
+ */
+public class GeneradorCarga {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int DEPARTAMENTOS = 10;
+    private static final int PROYECTOS = 20;
+    private static final int TAMANIO_LOTE_SIEMBRA = 500;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String base;
+    private final List<Long> departamentos = new ArrayList<>();
+    private final List<Long> proyectos = new ArrayList<>();
+    private final List<Long> empleados = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    private final AtomicLong altas = new AtomicLong();
+    private final Map<String, Operacion> operaciones = new LinkedHashMap<>();
+    private int pesoTotal;
+
+    private GeneradorCarga(String base) {
+        this.base = base;
+        registrar("GET /api/empleados/{id}", 30, () -> get("/api/empleados/" + empleadoAlAzar()));
+        registrar("GET /api/empleados/pagina", 10, () -> get("/api/empleados/pagina?tamanio=50&orden=salario"));
+        registrar("GET /api/empleados/salario", 10, () -> {
+            int minimo = 40000 + ThreadLocalRandom.current().nextInt(Math.max(1, empleados.size()));
+            return get("/api/empleados/salario?min=" + minimo + "&max=" + (minimo + 500));
+        });
+        registrar("GET /api/departamentos", 5, () -> get("/api/departamentos"));
+        registrar("GET /api/departamentos/{id}", 5, () -> get("/api/departamentos/" + alAzar(departamentos)));
+        registrar("GET /api/proyectos/activos", 10, () -> get("/api/proyectos/activos"));
+        registrar("GET /api/proyectos/{id}", 5, () -> get("/api/proyectos/" + alAzar(proyectos)));
+        registrar("POST /api/empleados", 10, () -> enviar("POST", "/api/empleados",
+                empleado("carga.alta" + altas.incrementAndGet() + "@empresa.com", alAzar(departamentos))));
+        registrar("PUT /api/empleados/{id}", 10, () -> {
+            int indice = ThreadLocalRandom.current().nextInt(empleados.size());
+            return enviar("PUT", "/api/empleados/" + empleados.get(indice),
+                    empleado(emails.get(indice), alAzar(departamentos)));
+        });
+        registrar("POST /api/proyectos/{id}/empleados", 5, () -> {
+            ArrayNode ids = JSON.createArrayNode();
+            for (int i = 0; i < 5; i++) {
+                ids.add(empleadoAlAzar());
+            }
+            return enviar("POST", "/api/proyectos/" + alAzar(proyectos) + "/empleados", ids);
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasa = Integer.getInteger("carga.tasa", 200);
+        int duracion = Integer.getInteger("carga.duracion", 60);
+        int calentamiento = Integer.getInteger("carga.calentamiento", 10);
+        int cantidadEmpleados = Integer.getInteger("carga.empleados", 1000);
+        String url = System.getProperty("carga.url", "");
+
+        ConfigurableApplicationContext contexto = null;
+        if (url.isBlank()) {
+            contexto = new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                    .profiles("h2")
+                    .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                    .run();
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            GeneradorCarga generador = new GeneradorCarga(url);
+            generador.sembrar(cantidadEmpleados);
+            System.out.printf("Carga sobre %s: %d pedidos/s, %d s de calentamiento y %d s de medición%n",
+                    url, tasa, calentamiento, duracion);
+            generador.ejecutar(tasa, calentamiento);
+            generador.descartarMediciones();
+            generador.ejecutar(tasa, duracion);
+            generador.informar(duracion);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    // Envía pedidos a intervalos fijos hasta cumplir la duración y espera a que terminen todos
+    private void ejecutar(int tasa, int segundos) {
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / tasa;
+        long total = (long) tasa * segundos;
+        Phaser pendientes = new Phaser(1);
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Operacion operacion = elegirOperacion();
+            pendientes.register();
+            cliente.sendAsync(operacion.solicitud().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((respuesta, error) -> {
+                        operacion.registrar(System.nanoTime() - previsto, error != null || respuesta.statusCode() >= 400);
+                        pendientes.arriveAndDeregister();
+                    });
+        }
+        pendientes.arriveAndAwaitAdvance();
+    }
+
+    private void descartarMediciones() {
+        operaciones.values().forEach(Operacion::reiniciar);
+    }
+
+    private void informar(int segundos) {
+        System.out.printf("%n%-36s %10s %10s %10s %10s %10s %10s %8s%n",
+                "Endpoint", "Pedidos", "Pedidos/s", "p50 ms", "p99 ms", "p99.9 ms", "Máx ms", "Errores");
+        Histogram global = new Histogram(3);
+        long erroresTotales = 0;
+        for (Operacion operacion : operaciones.values()) {
+            Histogram histograma = operacion.latencias().getIntervalHistogram();
+            long errores = operacion.errores().get();
+            global.add(histograma);
+            erroresTotales += errores;
+            imprimirFila(operacion.nombre(), histograma, segundos, errores);
+        }
+        imprimirFila("TOTAL", global, segundos, erroresTotales);
+    }
+
+    private void imprimirFila(String nombre, Histogram histograma, int segundos, long errores) {
+        System.out.printf("%-36s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                nombre, histograma.getTotalCount(), (double) histograma.getTotalCount() / segundos,
+                milisegundos(histograma.getValueAtPercentile(50)),
+                milisegundos(histograma.getValueAtPercentile(99)),
+                milisegundos(histograma.getValueAtPercentile(99.9)),
+                milisegundos(histograma.getMaxValue()),
+                errores);
+    }
+
+    // --- Datos iniciales ---
+
+    private void sembrar(int cantidadEmpleados) throws IOException, InterruptedException {
+        for (int i = 0; i < DEPARTAMENTOS; i++) {
+            ObjectNode departamento = JSON.createObjectNode().put("nombre", "Departamento Carga " + i);
+            departamentos.add(crear("/api/departamentos", departamento).get("id").asLong());
+        }
+        for (int i = 0; i < PROYECTOS; i++) {
+            ObjectNode proyecto = JSON.createObjectNode()
+                    .put("nombre", "Proyecto Carga " + i)
+                    .put("fechaInicio", LocalDate.now().toString())
+                    .put("fechaFin", LocalDate.now().plusMonths(i % 2 == 0 ? 6 : -1).toString());
+            proyectos.add(crear("/api/proyectos", proyecto).get("id").asLong());
+        }
+        for (int desde = 0; desde < cantidadEmpleados; desde += TAMANIO_LOTE_SIEMBRA) {
+            ArrayNode lote = JSON.createArrayNode();
+            List<String> emailsLote = new ArrayList<>();
+            for (int i = desde; i < Math.min(desde + TAMANIO_LOTE_SIEMBRA, cantidadEmpleados); i++) {
+                String email = "carga" + i + "@empresa.com";
+                ObjectNode empleado = empleado(email, departamentos.get(i % DEPARTAMENTOS));
+                empleado.put("salario", 40000 + i);
+                lote.add(empleado);
+                emailsLote.add(email);
+            }
+            JsonNode resultado = crear("/api/empleados/batch", lote);
+            // El lote informa los IDs en el orden de los empleados creados
+            resultado.get("idsCreados").forEach(id -> empleados.add(id.asLong()));
+            emails.addAll(emailsLote);
+        }
+    }
+
+    private JsonNode crear(String ruta, JsonNode cuerpo) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(enviar("POST", ruta, cuerpo),
+                HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() >= 400) {
+            throw new IllegalStateException("No se pudieron crear los datos iniciales en " + ruta + ": " + respuesta.body());
+        }
+        return JSON.readTree(respuesta.body());
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private void registrar(String nombre, int peso, Supplier<HttpRequest> solicitud) {
+        operaciones.put(nombre, new Operacion(nombre, peso, solicitud, new Recorder(3), new AtomicLong()));
+        pesoTotal += peso;
+    }
+
+    private Operacion elegirOperacion() {
+        int sorteo = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacion operacion : operaciones.values()) {
+            sorteo -= operacion.peso();
+            if (sorteo < 0) {
+                return operacion;
+            }
+        }
+        throw new IllegalStateException("Pesos de operaciones inconsistentes");
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta)).GET().build();
+    }
+
+    private HttpRequest enviar(String metodo, String ruta, JsonNode cuerpo) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(cuerpo.toString()))
+                .build();
+    }
+
+    private ObjectNode empleado(String email, Long departamentoId) {
+        ObjectNode empleado = JSON.createObjectNode()
+                .put("nombre", "Carga")
+                .put("apellido", "Generada")
+                .put("email", email)
+                .put("fechaContratacion", LocalDate.of(2024, 1, 1).toString())
+                .put("salario", 50000);
+        empleado.putObject("departamento").put("id", departamentoId);
+        return empleado;
+    }
+
+    private Long empleadoAlAzar() {
+        return alAzar(empleados);
+    }
+
+    private static Long alAzar(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static double milisegundos(long microsegundos) {
+        return microsegundos / 1000.0;
+    }
+
+    private record Operacion(String nombre, int peso, Supplier<HttpRequest> solicitud,
+                             Recorder latencias, AtomicLong errores) {
+
+        void registrar(long nanos, boolean error) {
+            latencias.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            if (error) {
+                errores.incrementAndGet();
+            }
+        }
+
+        void reiniciar() {
+            latencias.reset();
+            errores.set(0);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.SistemaGestionEmpleadosApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara el throughput HTTP con hilos de plataforma (configuración por defecto: 200 hilos de Tomcat)
+ * contra el perfil virtual, con muchos clientes concurrentes de lazo cerrado.
+ * <p>
+ * Cada sentencia JDBC se demora hilos.latencia-ms para simular una base lenta. La mitad de los pedidos
+ * va a la base (GET /api/empleados/salario) y la otra mitad sale de la caché (GET /api/empleados/{id}):
+ * con hilos de plataforma los pedidos lentos ocupan los hilos de Tomcat y los que no usan la base
+ * esperan en la cola; con hilos virtuales el límite es solo el pool de conexiones.
+ * <p>
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@hilos -Dhilos.concurrencia=2000
+ */
+public class HilosVirtualesBenchmark {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String base;
+    private final List<Long> empleados = new ArrayList<>();
+    private final Recorder latenciasCache = new Recorder(3);
+    private final Recorder latenciasBase = new Recorder(3);
+    private final AtomicLong errores = new AtomicLong();
+
+    private HilosVirtualesBenchmark(String base) {
+        this.base = base;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrencia = Integer.getInteger("hilos.concurrencia", 1000);
+        int latenciaMs = Integer.getInteger("hilos.latencia-ms", 20);
+        int duracion = Integer.getInteger("hilos.duracion", 30);
+        int calentamiento = Integer.getInteger("hilos.calentamiento", 10);
+        int cantidadEmpleados = Integer.getInteger("hilos.empleados", 1000);
+
+        System.out.printf("%d clientes concurrentes, %d ms por sentencia JDBC, %d s de medición%n",
+                concurrencia, latenciaMs, duracion);
+        System.out.printf("%n%-12s %10s %10s %14s %14s %14s %14s %8s%n", "Modo", "Pool", "Pedidos/s",
+                "caché p50 ms", "caché p99 ms", "base p50 ms", "base p99 ms", "Errores");
+        medir("plataforma", new String[]{"h2"}, concurrencia, latenciaMs, duracion, calentamiento, cantidadEmpleados);
+        medir("virtual", new String[]{"h2", "virtual"}, concurrencia, latenciaMs, duracion, calentamiento, cantidadEmpleados);
+    }
+
+    private static void medir(String modo, String[] perfiles, int concurrencia, int latenciaMs,
+                              int duracion, int calentamiento, int cantidadEmpleados) throws Exception {
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .profiles(perfiles)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .initializers(aplicacion -> aplicacion.getBeanFactory()
+                        .addBeanPostProcessor(new LatenciaSimulada(latenciaMs)))
+                .run();
+        try {
+            HilosVirtualesBenchmark benchmark = new HilosVirtualesBenchmark(
+                    "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"));
+            benchmark.sembrar(cantidadEmpleados);
+            benchmark.ejecutar(concurrencia, calentamiento);
+            benchmark.descartarMediciones();
+            long pedidos = benchmark.ejecutar(concurrencia, duracion);
+
+            Histogram cache = benchmark.latenciasCache.getIntervalHistogram();
+            Histogram baseDatos = benchmark.latenciasBase.getIntervalHistogram();
+            System.out.printf("%-12s %10s %10.1f %14.2f %14.2f %14.2f %14.2f %8d%n", modo,
+                    contexto.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                    (double) pedidos / duracion,
+                    milisegundos(cache.getValueAtPercentile(50)), milisegundos(cache.getValueAtPercentile(99)),
+                    milisegundos(baseDatos.getValueAtPercentile(50)), milisegundos(baseDatos.getValueAtPercentile(99)),
+                    benchmark.errores.get());
+        } finally {
+            contexto.close();
+        }
+    }
+
+    // Cada cliente envía un pedido, espera la respuesta y envía el siguiente hasta cumplir la duración
+    private long ejecutar(int concurrencia, int segundos) {
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        AtomicLong completados = new AtomicLong();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrencia; i++) {
+                clientes.submit(() -> {
+                    while (System.nanoTime() < fin) {
+                        boolean usaBase = ThreadLocalRandom.current().nextBoolean();
+                        HttpRequest solicitud = usaBase ? consultaPorSalario() : consultaPorId();
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() >= 400) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errores.incrementAndGet();
+                        }
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+                        (usaBase ? latenciasBase : latenciasCache).recordValue(micros);
+                        completados.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+        return completados.get();
+    }
+
+    private void descartarMediciones() {
+        latenciasCache.reset();
+        latenciasBase.reset();
+        errores.set(0);
+    }
+
+    // --- Datos iniciales ---
+
+    private void sembrar(int cantidadEmpleados) throws IOException, InterruptedException {
+        ObjectNode departamento = JSON.createObjectNode().put("nombre", "Departamento Hilos");
+        long departamentoId = crear("/api/departamentos", departamento).get("id").asLong();
+        ArrayNode lote = JSON.createArrayNode();
+        for (int i = 0; i < cantidadEmpleados; i++) {
+            ObjectNode empleado = JSON.createObjectNode()
+                    .put("nombre", "Hilos")
+                    .put("apellido", "Benchmark")
+                    .put("email", "hilos" + i + "@empresa.com")
+                    .put("fechaContratacion", LocalDate.of(2024, 1, 1).toString())
+                    .put("salario", 40000 + i);
+            empleado.putObject("departamento").put("id", departamentoId);
+            lote.add(empleado);
+        }
+        crear("/api/empleados/batch", lote).get("idsCreados").forEach(id -> empleados.add(id.asLong()));
+    }
+
+    private JsonNode crear(String ruta, JsonNode cuerpo) throws IOException, InterruptedException {
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo.toString()))
+                .build();
+        HttpResponse<String> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() >= 400) {
+            throw new IllegalStateException("No se pudieron crear los datos iniciales en " + ruta + ": " + respuesta.body());
+        }
+        return JSON.readTree(respuesta.body());
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private HttpRequest consultaPorId() {
+        Long id = empleados.get(ThreadLocalRandom.current().nextInt(empleados.size()));
+        return HttpRequest.newBuilder(URI.create(base + "/api/empleados/" + id)).GET().build();
+    }
+
+    private HttpRequest consultaPorSalario() {
+        int minimo = 40000 + ThreadLocalRandom.current().nextInt(empleados.size());
+        return HttpRequest.newBuilder(URI.create(base + "/api/empleados/salario?min=" + minimo + "&max=" + (minimo + 100)))
+                .GET().build();
+    }
+
+    private static double milisegundos(long microsegundos) {
+        return microsegundos / 1000.0;
+    }
+
+    /**
+     * Envuelve el DataSource para que cada ejecución de sentencia espere antes de llegar a H2, con la
+     * conexión tomada, como lo haría una base remota lenta.
+     */
+    private record LatenciaSimulada(long milisegundos) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nombre) {
+            // Closeable para que el contexto siga cerrando el pool de Hikari al terminar cada modo
+            return bean instanceof DataSource dataSource ? envolver(DataSource.class, dataSource, Closeable.class) : bean;
+        }
+
+        private <T> T envolver(Class<T> tipo, T destino, Class<?>... adicionales) {
+            InvocationHandler manejador = (proxy, metodo, argumentos) -> {
+                if (metodo.getName().startsWith("execute")) {
+                    Thread.sleep(milisegundos);
+                }
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(destino, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (resultado instanceof Connection conexion && metodo.getReturnType() == Connection.class) {
+                    return envolver(Connection.class, conexion);
+                }
+                if (resultado instanceof PreparedStatement sentencia && metodo.getReturnType() == PreparedStatement.class) {
+                    return envolver(PreparedStatement.class, sentencia);
+                }
+                if (resultado instanceof Statement sentencia && metodo.getReturnType() == Statement.class) {
+                    return envolver(Statement.class, sentencia);
+                }
+                return resultado;
+            };
+            List<Class<?>> interfaces = new ArrayList<>(List.of(adicionales));
+            interfaces.add(tipo);
+            return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), interfaces.toArray(Class<?>[]::new), manejador));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.SistemaGestionEmpleadosApplication;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.services.EmpleadoService;
+import com.example.sistemaGestionEmpleados.services.IndiceSalarios;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rangos y conteos por salario resueltos con el índice en memoria contra las mismas consultas en la
+ * base (H2 en memoria, con idx_empleados_salario). Los empleados se cargan por JDBC y el índice se
+ * reconstruye una vez; cada rango abarca alrededor del 0,1% de los empleados.
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@jmh -Djmh.filtro=IndiceSalariosBenchmark -Djmh.empleados=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class IndiceSalariosBenchmark {
+    private static final int SALARIO_MINIMO = 30_000;
+    private static final int AMPLITUD_SALARIOS = 100_000;
+    private static final int ANCHO_RANGO = AMPLITUD_SALARIOS / 1000;
+    private static final int TAMANIO_LOTE = 10_000;
+
+    @Param({"100000"})
+    public int empleados;
+
+    private ConfigurableApplicationContext contexto;
+    private EmpleadoService empleadoService;
+    private EmpleadoRepository empleadoRepository;
+    private IndiceSalarios indiceSalarios;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN", "app.indice-salarios.habilitado=true")
+                .run();
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        empleadoRepository = contexto.getBean(EmpleadoRepository.class);
+        indiceSalarios = contexto.getBean(IndiceSalarios.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        sembrar(contexto.getBean(JdbcTemplate.class));
+        indiceSalarios.reconstruir();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public long contarConIndice() {
+        BigDecimal minimo = minimoAlAzar();
+        return indiceSalarios.contarEnRango(minimo, minimo.add(BigDecimal.valueOf(ANCHO_RANGO)));
+    }
+
+    @Benchmark
+    public Long contarEnBase() {
+        BigDecimal minimo = minimoAlAzar();
+        return transactionTemplate.execute(estado ->
+                empleadoRepository.countBySalarioBetween(minimo, minimo.add(BigDecimal.valueOf(ANCHO_RANGO))));
+    }
+
+    @Benchmark
+    public long[] idsConIndice() {
+        BigDecimal minimo = minimoAlAzar();
+        return indiceSalarios.idsEnRango(minimo, minimo.add(BigDecimal.valueOf(ANCHO_RANGO)));
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarConIndice() {
+        // Lo que hace GET /api/empleados/salario con el índice: IDs en memoria y resúmenes por clave primaria
+        BigDecimal minimo = minimoAlAzar();
+        return empleadoService.buscarPorRangoSalario(minimo, minimo.add(BigDecimal.valueOf(ANCHO_RANGO)));
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarEnBase() {
+        BigDecimal minimo = minimoAlAzar();
+        return transactionTemplate.execute(estado ->
+                empleadoRepository.findResumenesBySalarioBetween(minimo, minimo.add(BigDecimal.valueOf(ANCHO_RANGO))));
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private BigDecimal minimoAlAzar() {
+        return BigDecimal.valueOf(SALARIO_MINIMO + ThreadLocalRandom.current().nextInt(AMPLITUD_SALARIOS - ANCHO_RANGO));
+    }
+
+    private void sembrar(JdbcTemplate jdbc) {
+        List<Object[]> lote = new ArrayList<>();
+        for (long i = 1; i <= empleados; i++) {
+            // Salarios con centavos, repartidos sin correlación con el id
+            BigDecimal salario = BigDecimal.valueOf(SALARIO_MINIMO * 100L + (i * 7_919_333) % (AMPLITUD_SALARIOS * 100L), 2);
+            lote.add(new Object[]{i, "Empleado", "Salario " + i, "salario" + i + "@empresa.com",
+                    Date.valueOf(LocalDate.of(2020, 1, 1)), salario});
+            if (lote.size() == TAMANIO_LOTE || i == empleados) {
+                jdbc.batchUpdate("INSERT INTO empleados (id, nombre, apellido, email, fecha_contratacion, salario) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)", lote);
+                lote.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.models.Proyecto;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
+import com.example.sistemaGestionEmpleados.services.DepartamentoService;
+import com.example.sistemaGestionEmpleados.services.EmpleadoService;
+import com.example.sistemaGestionEmpleados.services.ProyectoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara los listados armados con entidades (JOIN FETCH del grafo completo + Jackson sobre el grafo)
+ * contra los resúmenes por expresión constructora que usan los endpoints GET.
+ * Mide latencia y bytes asignados por llamada, incluida la serialización a JSON.
+ * Se ejecuta solo con el perfil de Maven "benchmark": mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ListadosResumenBenchmarkTest {
+    private static final int DEPARTAMENTOS = 20;
+    private static final int PROYECTOS = 50;
+    private static final int EMPLEADOS = 2000;
+    private static final int PROYECTOS_POR_EMPLEADO = 3;
+    private static final int CALENTAMIENTO = 20;
+    private static final int MEDICIONES = 50;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void sembrarDatos() {
+        limpiar();
+        transactionTemplate.executeWithoutResult(estado -> {
+            List<Departamento> departamentos = new ArrayList<>();
+            for (int i = 0; i < DEPARTAMENTOS; i++) {
+                Departamento departamento = new Departamento();
+                departamento.setNombre("Departamento " + i);
+                departamento.setDescripcion("Departamento de prueba " + i);
+                entityManager.persist(departamento);
+                departamentos.add(departamento);
+            }
+            List<Proyecto> proyectos = new ArrayList<>();
+            for (int i = 0; i < PROYECTOS; i++) {
+                Proyecto proyecto = new Proyecto();
+                proyecto.setNombre("Proyecto " + i);
+                proyecto.setFechaInicio(LocalDate.now().minusMonths(1));
+                proyecto.setFechaFin(LocalDate.now().plusYears(1));
+                entityManager.persist(proyecto);
+                proyectos.add(proyecto);
+            }
+            for (int i = 0; i < EMPLEADOS; i++) {
+                Empleado empleado = new Empleado();
+                empleado.setNombre("Empleado" + i);
+                empleado.setApellido("Benchmark");
+                empleado.setEmail("benchmark" + i + "@empresa.com");
+                empleado.setFechaContratacion(LocalDate.of(2020, 1, 1).plusDays(i));
+                empleado.setSalario(BigDecimal.valueOf(40000 + i));
+                empleado.setDepartamento(departamentos.get(i % DEPARTAMENTOS));
+                empleado.setProyectos(new HashSet<>());
+                for (int j = 0; j < PROYECTOS_POR_EMPLEADO; j++) {
+                    empleado.getProyectos().add(proyectos.get((i + j) % PROYECTOS));
+                }
+                entityManager.persist(empleado);
+                if (i % 50 == 0) {
+                    entityManager.flush();
+                }
+            }
+        });
+    }
+
+    @AfterAll
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM empleado_proyecto");
+        empleadoRepository.deleteAllInBatch();
+        proyectoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listadoDeEmpleados() throws Exception {
+        comparar("GET /api/empleados",
+                () -> objectMapper.writeValueAsBytes(entityManager.createQuery(
+                        "SELECT e FROM Empleado e LEFT JOIN FETCH e.proyectos", Empleado.class).getResultList()),
+                () -> objectMapper.writeValueAsBytes(empleadoService.obtenerTodos()));
+    }
+
+    @Test
+    void listadoDeDepartamentos() throws Exception {
+        comparar("GET /api/departamentos",
+                () -> objectMapper.writeValueAsBytes(entityManager.createQuery(
+                        "SELECT DISTINCT d FROM Departamento d LEFT JOIN FETCH d.empleados e LEFT JOIN FETCH e.proyectos",
+                        Departamento.class).getResultList()),
+                () -> objectMapper.writeValueAsBytes(departamentoService.obtenerTodos()));
+    }
+
+    @Test
+    void listadoDeProyectos() throws Exception {
+        comparar("GET /api/proyectos",
+                () -> objectMapper.writeValueAsBytes(entityManager.createQuery(
+                        "SELECT p FROM Proyecto p LEFT JOIN FETCH p.empleados", Proyecto.class).getResultList()),
+                () -> objectMapper.writeValueAsBytes(proyectoService.obtenerTodos()));
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private void comparar(String listado, Callable<byte[]> conEntidades, Callable<byte[]> conResumenes) throws Exception {
+        // Las entidades se serializan dentro de la transacción, como haría open-in-view
+        Medicion entidades = medir(() -> transactionTemplate.execute(estado -> llamar(conEntidades)));
+        Medicion resumenes = medir(() -> llamar(conResumenes));
+
+        System.out.printf("%-24s entidades: %8.3f ms %12d bytes | resúmenes: %8.3f ms %12d bytes%n",
+                listado, entidades.milisegundos(), entidades.bytesAsignados(),
+                resumenes.milisegundos(), resumenes.bytesAsignados());
+        assertTrue(resumenes.bytesAsignados() < entidades.bytesAsignados(),
+                "Los resúmenes de " + listado + " deberían asignar menos memoria que las entidades");
+    }
+
+    private Medicion medir(Callable<byte[]> operacion) throws Exception {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            operacion.call();
+        }
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().getId();
+        long bytesAntes = hilos.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICIONES; i++) {
+            operacion.call();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = hilos.getThreadAllocatedBytes(hilo) - bytesAntes;
+        return new Medicion(nanos / 1_000_000.0 / MEDICIONES, bytes / MEDICIONES);
+    }
+
+    private byte[] llamar(Callable<byte[]> operacion) {
+        try {
+            return operacion.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Medicion(double milisegundos, long bytesAsignados) {
+    }
+}
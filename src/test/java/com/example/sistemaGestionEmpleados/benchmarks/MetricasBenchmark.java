@@ -0,0 +1,77 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.config.MetricasCapas;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por llamada del aspecto de métricas: la diferencia entre conMetricas y sinMetricas
+ * es lo que agrega el Timer sobre un proxy AOP que ya existe (los servicios son proxies
+ * transaccionales de todos modos).
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@jmh -Djmh.filtro=MetricasBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricasBenchmark {
+
+    private ServicioVacio directo;
+    private ServicioVacio sinMetricas;
+    private ServicioVacio conMetricas;
+    private long valor;
+
+    @Setup
+    public void iniciar() {
+        directo = new ServicioVacio();
+        sinMetricas = proxy(null);
+        conMetricas = proxy(new MetricasCapas(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+    }
+
+    @Benchmark
+    public long directo() {
+        return directo.calcular(valor++);
+    }
+
+    @Benchmark
+    public long sinMetricas() {
+        return sinMetricas.calcular(valor++);
+    }
+
+    @Benchmark
+    public long conMetricas() {
+        return conMetricas.calcular(valor++);
+    }
+
+    private static ServicioVacio proxy(MetricasCapas metricas) {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(new ServicioVacio());
+        fabrica.setProxyTargetClass(true);
+        if (metricas != null) {
+            fabrica.addAspect(metricas);
+        }
+        return fabrica.getProxy();
+    }
+
+    @Service
+    public static class ServicioVacio {
+        public long calcular(long valor) {
+            return valor * 31;
+        }
+    }
+}
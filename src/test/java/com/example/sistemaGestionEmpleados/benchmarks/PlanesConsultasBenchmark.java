@@ -0,0 +1,299 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.SistemaGestionEmpleadosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compara el plan y el tiempo de las consultas de los repositorios con y sin los índices de la
+ * migración V2__indices_consultas, sobre una base cargada con planes.filas empleados (1.000.000 por
+ * defecto).
+ * <p>
+ * Levanta la aplicación con el perfil planes.perfil (h2 por defecto) para que Flyway cree el esquema,
+ * carga los datos por JDBC, mide cada consulta con los índices, los borra, vuelve a medir y los
+ * recrea. La base tiene que estar vacía: al terminar se borran las filas insertadas.
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@planes -Dplanes.perfil=postgres
+ */
+public class PlanesConsultasBenchmark {
+    private static final int DEPARTAMENTOS = 1000;
+    private static final int EMPLEADOS_POR_PROYECTO = 100;
+    private static final int TAMANIO_LOTE = 10_000;
+    private static final LocalDate INICIO_CONTRATACIONES = LocalDate.of(2000, 1, 1);
+    private static final int DIAS_CONTRATACION = 9000;
+
+    // Los mismos índices que crea V2__indices_consultas.sql
+    private static final Map<String, String> INDICES = new LinkedHashMap<>();
+
+    static {
+        INDICES.put("idx_empleados_salario", "empleados (salario, id)");
+        INDICES.put("idx_empleados_fecha_contratacion", "empleados (fecha_contratacion, id)");
+        INDICES.put("idx_empleados_departamento", "empleados (departamento_id)");
+        INDICES.put("idx_proyectos_fecha_fin", "proyectos (fecha_fin)");
+        INDICES.put("idx_proyectos_nombre", "proyectos (nombre, id)");
+        INDICES.put("idx_empleado_proyecto_proyecto", "empleado_proyecto (proyecto_id, empleado_id)");
+    }
+
+    private final JdbcTemplate jdbc;
+    private final DataSource dataSource;
+    private final String motor;
+    private final int repeticiones;
+    private final List<Consulta> consultas = new ArrayList<>();
+
+    private PlanesConsultasBenchmark(DataSource dataSource, int repeticiones) throws SQLException {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.repeticiones = repeticiones;
+        try (Connection conexion = dataSource.getConnection()) {
+            this.motor = conexion.getMetaData().getDatabaseProductName();
+        }
+        consultas.add(new Consulta("findResumenesBySalarioBetween",
+                "SELECT e.id, e.nombre, e.apellido, e.email, e.salario FROM empleados e " +
+                        "WHERE e.salario BETWEEN ? AND ? ORDER BY e.id",
+                new BigDecimal("50000.00"), new BigDecimal("50100.00")));
+        consultas.add(new Consulta("findByFechaContratacionAfter",
+                "SELECT e.id, e.nombre, e.fecha_contratacion FROM empleados e WHERE e.fecha_contratacion > ?",
+                Date.valueOf(INICIO_CONTRATACIONES.plusDays(DIAS_CONTRATACION - 10))));
+        consultas.add(new Consulta("findResumenesByDepartamentoId",
+                "SELECT e.id, e.nombre, e.salario FROM empleados e WHERE e.departamento_id = ? ORDER BY e.id", 7L));
+        consultas.add(new Consulta("findResumenesActivos",
+                "SELECT p.id, p.nombre, p.fecha_fin FROM proyectos p WHERE p.fecha_fin > ? ORDER BY p.id",
+                Date.valueOf(LocalDate.now())));
+        consultas.add(new Consulta("findIdsEmpleados",
+                "SELECT ep.empleado_id FROM empleado_proyecto ep WHERE ep.proyecto_id = ?", 7L));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int filas = Integer.getInteger("planes.filas", 1_000_000);
+        int repeticiones = Integer.getInteger("planes.repeticiones", 20);
+        String perfil = System.getProperty("planes.perfil", "h2");
+
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(perfil)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        try {
+            PlanesConsultasBenchmark benchmark = new PlanesConsultasBenchmark(contexto.getBean(DataSource.class), repeticiones);
+            benchmark.verificarBaseVacia();
+            try {
+                System.out.printf("Cargando %d empleados en %s...%n", filas, benchmark.motor);
+                benchmark.cargar(filas);
+                benchmark.actualizarEstadisticas();
+                Map<String, Medicion> conIndices = benchmark.medir();
+                List<String> sinBorrar = benchmark.borrarIndices();
+                benchmark.actualizarEstadisticas();
+                Map<String, Medicion> sinIndices = benchmark.medir();
+                benchmark.recrearIndices(sinBorrar);
+                benchmark.informar(conIndices, sinIndices, sinBorrar);
+            } finally {
+                benchmark.vaciar();
+            }
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private Map<String, Medicion> medir() throws SQLException {
+        Map<String, Medicion> mediciones = new LinkedHashMap<>();
+        for (Consulta consulta : consultas) {
+            mediciones.put(consulta.nombre(), new Medicion(plan(consulta), medianaMs(consulta)));
+        }
+        return mediciones;
+    }
+
+    private void informar(Map<String, Medicion> conIndices, Map<String, Medicion> sinIndices, List<String> sinBorrar) {
+        if (!sinBorrar.isEmpty()) {
+            System.out.println("No se pudieron borrar (los usa una clave foránea): " + sinBorrar);
+        }
+        System.out.printf("%n%-32s %14s %14s %10s%n", "Consulta", "Sin índice ms", "Con índice ms", "Mejora");
+        for (Consulta consulta : consultas) {
+            Medicion sin = sinIndices.get(consulta.nombre());
+            Medicion con = conIndices.get(consulta.nombre());
+            System.out.printf("%-32s %14.3f %14.3f %9.1fx%n", consulta.nombre(), sin.medianaMs(), con.medianaMs(),
+                    sin.medianaMs() / Math.max(con.medianaMs(), 0.001));
+        }
+        for (Consulta consulta : consultas) {
+            System.out.printf("%n== %s%n-- sin índices:%n%s%n-- con índices:%n%s%n", consulta.nombre(),
+                    sinIndices.get(consulta.nombre()).plan(), conIndices.get(consulta.nombre()).plan());
+        }
+    }
+
+    // --- Datos ---
+
+    private void verificarBaseVacia() {
+        for (String tabla : List.of("empleados", "proyectos", "departamentos")) {
+            if (jdbc.queryForObject("SELECT COUNT(*) FROM " + tabla, Long.class) > 0) {
+                throw new IllegalStateException("El benchmark necesita una base vacía: borra sus filas al terminar");
+            }
+        }
+    }
+
+    private void cargar(int filas) {
+        List<Object[]> lote = new ArrayList<>();
+        for (long d = 1; d <= DEPARTAMENTOS; d++) {
+            lote.add(new Object[]{d, "Departamento " + d});
+        }
+        jdbc.batchUpdate("INSERT INTO departamentos (id, nombre) VALUES (?, ?)", lote);
+
+        // Proyectos terminados en los últimos 20 años o activos hasta dentro de un año: ~5% activos
+        int cantidadProyectos = Math.max(1, filas / EMPLEADOS_POR_PROYECTO);
+        LocalDate primerFin = LocalDate.now().minusYears(20);
+        long diasFin = ChronoUnit.DAYS.between(primerFin, LocalDate.now().plusYears(1));
+        lote.clear();
+        for (long p = 1; p <= cantidadProyectos; p++) {
+            LocalDate fin = primerFin.plusDays((p * 7919) % diasFin);
+            lote.add(new Object[]{p, "Proyecto " + p, Date.valueOf(fin.minusYears(1)), Date.valueOf(fin)});
+            insertarSiCompleto("INSERT INTO proyectos (id, nombre, fecha_inicio, fecha_fin) VALUES (?, ?, ?, ?)", lote, false);
+        }
+        insertarSiCompleto("INSERT INTO proyectos (id, nombre, fecha_inicio, fecha_fin) VALUES (?, ?, ?, ?)", lote, true);
+
+        List<Object[]> miembros = new ArrayList<>();
+        for (long i = 1; i <= filas; i++) {
+            // Salarios y fechas repartidos sin correlación con el id
+            BigDecimal salario = BigDecimal.valueOf(30000 + (i * 7919) % 100000, 0).setScale(2);
+            LocalDate contratacion = INICIO_CONTRATACIONES.plusDays((i * 104729) % DIAS_CONTRATACION);
+            lote.add(new Object[]{i, "Empleado", "Plan " + i, "plan" + i + "@empresa.com",
+                    Date.valueOf(contratacion), salario, 1 + i % DEPARTAMENTOS});
+            miembros.add(new Object[]{i, 1 + i % cantidadProyectos});
+            if (lote.size() == TAMANIO_LOTE) {
+                insertarEmpleados(lote, miembros);
+            }
+        }
+        insertarEmpleados(lote, miembros);
+    }
+
+    private void insertarEmpleados(List<Object[]> lote, List<Object[]> miembros) {
+        insertarSiCompleto("INSERT INTO empleados (id, nombre, apellido, email, fecha_contratacion, salario, departamento_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", lote, true);
+        insertarSiCompleto("INSERT INTO empleado_proyecto (empleado_id, proyecto_id) VALUES (?, ?)", miembros, true);
+    }
+
+    private void insertarSiCompleto(String sql, List<Object[]> lote, boolean forzar) {
+        if (!lote.isEmpty() && (forzar || lote.size() == TAMANIO_LOTE)) {
+            jdbc.batchUpdate(sql, lote);
+            lote.clear();
+        }
+    }
+
+    private void vaciar() {
+        jdbc.update("DELETE FROM empleado_proyecto");
+        jdbc.update("DELETE FROM empleados");
+        jdbc.update("DELETE FROM proyectos");
+        jdbc.update("DELETE FROM departamentos");
+    }
+
+    // --- Índices ---
+
+    // Devuelve los que el motor no deja borrar (MySQL exige un índice para cada clave foránea)
+    private List<String> borrarIndices() {
+        List<String> sinBorrar = new ArrayList<>();
+        INDICES.forEach((nombre, definicion) -> {
+            String tabla = definicion.substring(0, definicion.indexOf(' '));
+            try {
+                jdbc.execute(esMySql() ? "DROP INDEX " + nombre + " ON " + tabla : "DROP INDEX " + nombre);
+            } catch (RuntimeException e) {
+                sinBorrar.add(nombre);
+            }
+        });
+        return sinBorrar;
+    }
+
+    private void recrearIndices(List<String> sinBorrar) {
+        INDICES.forEach((nombre, definicion) -> {
+            if (!sinBorrar.contains(nombre)) {
+                jdbc.execute("CREATE INDEX " + nombre + " ON " + definicion);
+            }
+        });
+    }
+
+    private void actualizarEstadisticas() {
+        jdbc.execute(esMySql() ? "ANALYZE TABLE empleados, proyectos, empleado_proyecto" : "ANALYZE");
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private String plan(Consulta consulta) throws SQLException {
+        StringJoiner plan = new StringJoiner("\n");
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement sentencia = preparar(conexion, "EXPLAIN " + consulta.sql(), consulta.parametros());
+             ResultSet filas = sentencia.executeQuery()) {
+            ResultSetMetaData columnas = filas.getMetaData();
+            while (filas.next()) {
+                if (columnas.getColumnCount() == 1) {
+                    plan.add(filas.getString(1));
+                    continue;
+                }
+                // MySQL devuelve el plan como tabla: tipo de acceso, índice elegido, filas estimadas...
+                StringJoiner fila = new StringJoiner(", ");
+                for (int c = 1; c <= columnas.getColumnCount(); c++) {
+                    if (filas.getObject(c) != null) {
+                        fila.add(columnas.getColumnLabel(c) + "=" + filas.getObject(c));
+                    }
+                }
+                plan.add(fila.toString());
+            }
+        }
+        return plan.toString();
+    }
+
+    private double medianaMs(Consulta consulta) throws SQLException {
+        double[] tiempos = new double[repeticiones];
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement sentencia = preparar(conexion, consulta.sql(), consulta.parametros())) {
+            // Una ejecución previa para que la medición no incluya la carga inicial de páginas
+            recorrer(sentencia);
+            for (int i = 0; i < repeticiones; i++) {
+                long inicio = System.nanoTime();
+                recorrer(sentencia);
+                tiempos[i] = (System.nanoTime() - inicio) / 1_000_000.0;
+            }
+        }
+        Arrays.sort(tiempos);
+        return tiempos[repeticiones / 2];
+    }
+
+    private static PreparedStatement preparar(Connection conexion, String sql, Object[] parametros) throws SQLException {
+        PreparedStatement sentencia = conexion.prepareStatement(sql);
+        for (int i = 0; i < parametros.length; i++) {
+            sentencia.setObject(i + 1, parametros[i]);
+        }
+        return sentencia;
+    }
+
+    private static void recorrer(PreparedStatement sentencia) throws SQLException {
+        try (ResultSet filas = sentencia.executeQuery()) {
+            while (filas.next()) {
+                filas.getObject(1);
+            }
+        }
+    }
+
+    private boolean esMySql() {
+        return motor.toLowerCase().contains("mysql");
+    }
+
+    private record Consulta(String nombre, String sql, Object... parametros) {
+    }
+
+    private record Medicion(String plan, double medianaMs) {
+    }
+}
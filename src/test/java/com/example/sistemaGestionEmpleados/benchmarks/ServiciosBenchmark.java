@@ -0,0 +1,170 @@
+package com.example.sistemaGestionEmpleados.benchmarks;
+
+import com.example.sistemaGestionEmpleados.SistemaGestionEmpleadosApplication;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.models.Proyecto;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.services.DepartamentoService;
+import com.example.sistemaGestionEmpleados.services.EmpleadoService;
+import com.example.sistemaGestionEmpleados.services.ProyectoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH de la capa de servicios y repositorios sobre H2 en memoria (perfil h2).
+ * La cantidad de empleados sembrados se elige con -p empleados=N.
+ * Se ejecuta con: ./mvnw -Pbenchmark test-compile exec:exec@jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiciosBenchmark {
+    private static final int DEPARTAMENTOS = 10;
+    private static final int MIEMBROS_PROYECTO = 200;
+    // Empleados que entran y salen del proyecto en cada reasignación
+    private static final int ROTACION_PROYECTO = 10;
+
+    @Param({"1000"})
+    public int empleados;
+
+    private ConfigurableApplicationContext contexto;
+    private EmpleadoService empleadoService;
+    private ProyectoService proyectoService;
+    private EmpleadoRepository empleadoRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> idsEmpleados;
+    private List<Departamento> departamentos;
+    private Long proyectoId;
+    private Set<Long> miembrosA;
+    private Set<Long> miembrosB;
+    private boolean usarMiembrosA;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        proyectoService = contexto.getBean(ProyectoService.class);
+        empleadoRepository = contexto.getBean(EmpleadoRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        sembrar(contexto.getBean(DepartamentoService.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Empleado buscarPorId() {
+        // Pasa por la caché de lecturas del servicio
+        return empleadoService.buscarPorId(empleadoAlAzar());
+    }
+
+    @Benchmark
+    public Optional<Empleado> buscarPorIdEnRepositorio() {
+        // La misma consulta sin la caché de lecturas
+        Long id = empleadoAlAzar();
+        return transactionTemplate.execute(estado -> empleadoRepository.findByIdWithProyectos(id));
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarPorRangoSalario() {
+        BigDecimal minimo = BigDecimal.valueOf(40000 + ThreadLocalRandom.current().nextInt(empleados));
+        return empleadoService.buscarPorRangoSalario(minimo, minimo.add(BigDecimal.valueOf(empleados / 20)));
+    }
+
+    @Benchmark
+    public List<EmpleadoResumen> buscarPorDepartamento() {
+        return empleadoService.buscarPorDepartamento(departamentoAlAzar().getNombre());
+    }
+
+    @Benchmark
+    public BigDecimal obtenerSalarioPromedioPorDepartamento() {
+        return empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoAlAzar().getId());
+    }
+
+    @Benchmark
+    public Proyecto asignarEmpleadosAProyecto() {
+        // Alterna entre dos conjuntos que difieren en pocos miembros, como una reasignación real
+        usarMiembrosA = !usarMiembrosA;
+        return proyectoService.asignarEmpleadosAProyecto(proyectoId, usarMiembrosA ? miembrosA : miembrosB);
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private void sembrar(DepartamentoService departamentoService) {
+        departamentos = new ArrayList<>();
+        for (int i = 0; i < DEPARTAMENTOS; i++) {
+            Departamento departamento = new Departamento();
+            departamento.setNombre("Departamento " + i);
+            departamentos.add(departamentoService.guardar(departamento));
+        }
+
+        List<Empleado> lote = new ArrayList<>();
+        for (int i = 0; i < empleados; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Benchmark");
+            empleado.setEmail("benchmark" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+            empleado.setSalario(BigDecimal.valueOf(40000 + i));
+            empleado.setDepartamento(departamentos.get(i % DEPARTAMENTOS));
+            lote.add(empleado);
+        }
+        idsEmpleados = empleadoService.guardarLote(lote).idsCreados();
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Proyecto Benchmark");
+        proyecto.setFechaInicio(LocalDate.now());
+        proyecto.setFechaFin(LocalDate.now().plusYears(1));
+        proyectoId = proyectoService.guardar(proyecto).getId();
+
+        int miembros = Math.min(MIEMBROS_PROYECTO, idsEmpleados.size() - ROTACION_PROYECTO);
+        miembrosA = new HashSet<>(idsEmpleados.subList(0, miembros));
+        miembrosB = new HashSet<>(idsEmpleados.subList(ROTACION_PROYECTO, miembros + ROTACION_PROYECTO));
+        proyectoService.asignarEmpleadosAProyecto(proyectoId, miembrosB);
+    }
+
+    private Long empleadoAlAzar() {
+        return idsEmpleados.get(ThreadLocalRandom.current().nextInt(idsEmpleados.size()));
+    }
+
+    private Departamento departamentoAlAzar() {
+        return departamentos.get(ThreadLocalRandom.current().nextInt(DEPARTAMENTOS));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheLecturasTest {
+
+    private final CacheLecturas cache = new CacheLecturas(new ConcurrentMapCache("empleados", false));
+
+    @Test
+    void cuandoNoHuboInvalidaciones_entoncesGuardaLoCargado() {
+
+        assertNull(cache.get(1L));
+        cache.put(1L, "Ana");
+
+        assertEquals("Ana", cache.get(1L).get());
+    }
+
+    @Test
+    void cuandoSeInvalidaDuranteLaCarga_entoncesDescartaElValorViejo() {
+
+        assertNull(cache.get(1L));
+        cache.evict(1L);
+        cache.put(1L, "Ana");
+
+        assertNull(cache.get(1L));
+        cache.put(1L, "Ana María");
+        assertEquals("Ana María", cache.get(1L).get());
+    }
+
+    @Test
+    void cuandoSeVaciaDuranteLaCarga_entoncesDescartaElValorViejo() {
+
+        assertNull(cache.get(1L));
+        cache.clear();
+        cache.put(1L, "Ana");
+
+        assertNull(cache.get(1L));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.consultas-lentas.habilitado=true",
+        "app.consultas-lentas.umbral-ms=0",
+        "app.consultas-lentas.capacidad=3"
+})
+@Transactional
+@ActiveProfiles("test")
+public class ConsultasEndpointTest {
+    @Autowired
+    private ConsultasEndpoint consultasEndpoint;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @BeforeEach
+    void setUp() {
+        consultasEndpoint.reiniciar();
+    }
+
+    @Test
+    void cuandoSeEjecutanConsultas_entoncesAparecenEnElResumen() {
+
+        empleadoRepository.findResumenes();
+        empleadoRepository.findEmailsExistentes(List.of("nadie@empresa.com"));
+
+        ConsultasEndpoint.Resumen resumen = consultasEndpoint.resumen();
+
+        assertTrue(resumen.habilitadas());
+        assertEquals(0L, resumen.umbralMs());
+        assertEquals(2, resumen.consultasEjecutadas());
+        assertEquals(2, resumen.consultasLentas());
+        assertEquals(2, resumen.lentas().size());
+    }
+
+    @Test
+    void cuandoUnaConsultaSeRepite_entoncesSeAgrupanSusEjecuciones() {
+
+        for (int i = 0; i < 5; i++) {
+            empleadoRepository.findResumenes();
+        }
+
+        ConsultasEndpoint.Resumen resumen = consultasEndpoint.resumen();
+
+        assertEquals(1, resumen.consultasLentas());
+        ConsultasEndpoint.Consulta consulta = resumen.lentas().get(0);
+        assertEquals(5, consulta.ejecuciones());
+        assertTrue(consulta.maximoMs() >= consulta.promedioMs());
+    }
+
+    @Test
+    void cuandoHayMasConsultasLentasQueLaCapacidad_entoncesListaSoloLasPrimeras() {
+
+        empleadoRepository.findResumenes();
+        empleadoRepository.findEmailsExistentes(List.of("nadie@empresa.com"));
+        empleadoRepository.findIdsByDepartamentoId(1L);
+        empleadoRepository.findIdsByFechaContratacionBefore(LocalDate.now());
+
+        ConsultasEndpoint.Resumen resumen = consultasEndpoint.resumen();
+
+        assertEquals(4, resumen.consultasLentas());
+        assertEquals(3, resumen.lentas().size());
+    }
+}
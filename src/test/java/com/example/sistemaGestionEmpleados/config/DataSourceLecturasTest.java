@@ -0,0 +1,61 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DataSourceLecturasTest {
+
+    private final DataSource primaria = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+    private final Connection conexionPrimaria = mock(Connection.class);
+    private final Connection conexionReplica1 = mock(Connection.class);
+    private final Connection conexionReplica2 = mock(Connection.class);
+
+    @Test
+    void cuandoHayVariasReplicas_entoncesLasUsaEnRonda() throws SQLException {
+
+        when(replica1.getConnection()).thenReturn(conexionReplica1);
+        when(replica2.getConnection()).thenReturn(conexionReplica2);
+        DataSourceLecturas lecturas = new DataSourceLecturas(List.of(replica1, replica2), primaria, Duration.ofSeconds(30));
+
+        assertSame(conexionReplica1, lecturas.getConnection());
+        assertSame(conexionReplica2, lecturas.getConnection());
+        assertSame(conexionReplica1, lecturas.getConnection());
+        verifyNoInteractions(primaria);
+    }
+
+    @Test
+    void cuandoUnaReplicaFalla_entoncesSeSalteaHastaQuePaseElReintento() throws SQLException {
+
+        when(replica1.getConnection()).thenThrow(new SQLException("caída"));
+        when(replica2.getConnection()).thenReturn(conexionReplica2);
+        DataSourceLecturas lecturas = new DataSourceLecturas(List.of(replica1, replica2), primaria, Duration.ofSeconds(30));
+
+        assertSame(conexionReplica2, lecturas.getConnection());
+        assertSame(conexionReplica2, lecturas.getConnection());
+        assertSame(conexionReplica2, lecturas.getConnection());
+        verify(replica1, times(1)).getConnection();
+    }
+
+    @Test
+    void cuandoNingunaReplicaEntregaConexion_entoncesUsaLaPrimaria() throws SQLException {
+
+        when(replica1.getConnection()).thenThrow(new SQLException("caída"));
+        when(primaria.getConnection()).thenReturn(conexionPrimaria);
+        DataSourceLecturas lecturas = new DataSourceLecturas(List.of(replica1), primaria, Duration.ZERO);
+
+        assertSame(conexionPrimaria, lecturas.getConnection());
+        // Con reintento cero se vuelve a probar la réplica en el pedido siguiente
+        when(replica1.getConnection()).thenReturn(conexionReplica1);
+        assertSame(conexionReplica1, lecturas.getConnection());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+public class HilosVirtualesConfigTest {
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Test
+    void cuandoSeHabilitanHilosVirtuales_entoncesLasTareasAsincronasCorrenEnHilosVirtuales() throws Exception {
+
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get();
+
+        assertTrue(virtual);
+    }
+
+    @Test
+    void cuandoElDriverBloqueaDentroDeSynchronized_entoncesNoSeAceptaConHilosVirtuales() {
+
+        assertFalse(HilosVirtualesConfig.soportaHilosVirtuales("MySQL Connector/J", 8, 4));
+        assertFalse(HilosVirtualesConfig.soportaHilosVirtuales("PostgreSQL JDBC Driver", 42, 5));
+    }
+
+    @Test
+    void cuandoElDriverUsaLocks_entoncesSeAceptaConHilosVirtuales() {
+
+        assertTrue(HilosVirtualesConfig.soportaHilosVirtuales("MySQL Connector/J", 9, 0));
+        assertTrue(HilosVirtualesConfig.soportaHilosVirtuales("PostgreSQL JDBC Driver", 42, 7));
+        assertTrue(HilosVirtualesConfig.soportaHilosVirtuales("H2 JDBC Driver", 2, 3));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.sistemaGestionEmpleados.config;
+
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import com.example.sistemaGestionEmpleados.services.DepartamentoService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dos bases H2 en memoria: la primaria de siempre y una réplica con el mismo esquema pero datos propios,
+// para distinguir de cuál salió cada lectura. Sin transacción de test: cada llamada abre la suya
+@SpringBootTest(properties = {
+        "app.replicas.habilitado=true",
+        "app.replicas.urls=" + ReplicasLecturaIntegrationTest.URL_REPLICA})
+@ActiveProfiles("test")
+public class ReplicasLecturaIntegrationTest {
+    static final String URL_REPLICA = "jdbc:h2:mem:replica_lecturas;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Departamento departamento;
+
+    @BeforeAll
+    static void prepararReplica() throws Exception {
+        Flyway.configure()
+                .dataSource(URL_REPLICA, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        try (Connection conexion = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.executeUpdate("INSERT INTO departamentos (nombre, descripcion) VALUES ('Solo en la réplica', 'Fila de la réplica')");
+        }
+    }
+
+    @AfterEach
+    void limpiar() {
+        if (departamento != null) {
+            departamentoService.eliminar(departamento.getId());
+            departamento = null;
+        }
+    }
+
+    @Test
+    void cuandoConsultarEnTransaccionDeSoloLectura_entoncesLeeDeLaReplica() {
+
+        List<String> nombres = nombres(departamentoService.obtenerTodos());
+
+        assertTrue(nombres.contains("Solo en la réplica"));
+    }
+
+    @Test
+    void cuandoGuardar_entoncesEscribeEnLaPrimariaYLasLecturasConEscrituraTambienVanALaPrimaria() {
+
+        Departamento nuevo = new Departamento();
+        nuevo.setNombre("Solo en la primaria");
+        departamento = departamentoService.guardar(nuevo);
+
+        List<String> enPrimaria = new TransactionTemplate(transactionManager).execute(estado ->
+                departamentoRepository.findAll().stream().map(Departamento::getNombre).toList());
+        List<String> enReplica = nombres(departamentoService.obtenerTodos());
+
+        assertTrue(enPrimaria.contains("Solo en la primaria"));
+        assertFalse(enPrimaria.contains("Solo en la réplica"));
+        assertFalse(enReplica.contains("Solo en la primaria"));
+    }
+
+    private static List<String> nombres(List<DepartamentoResumen> resumenes) {
+        return resumenes.stream().map(DepartamentoResumen::nombre).toList();
+    }
+}
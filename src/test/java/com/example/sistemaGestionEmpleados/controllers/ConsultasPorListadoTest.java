@@ -0,0 +1,128 @@
+package com.example.sistemaGestionEmpleados.controllers;
+
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.models.Proyecto;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Verifica que la cantidad de sentencias SQL de cada listado (incluida la serialización) no crece con las filas
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConsultasPorListadoTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    private Departamento departamento;
+    private List<Proyecto> proyectos;
+    private int creados;
+
+    @BeforeEach
+    void setUp() {
+        limpiar();
+        Departamento depto = new Departamento();
+        depto.setNombre("Consultas");
+        departamento = departamentoRepository.save(depto);
+        proyectos = List.of(
+                proyectoRepository.save(crearProyecto("Proyecto Norte")),
+                proyectoRepository.save(crearProyecto("Proyecto Sur")));
+    }
+
+    @AfterEach
+    void limpiar() {
+        // Sin transacción de test: los datos se confirman y hay que borrarlos
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/empleados",
+            "/api/empleados/pagina",
+            "/api/empleados/departamento/Consultas",
+            "/api/empleados/salario?min=0&max=1000000",
+            "/api/departamentos",
+            "/api/departamentos/pagina",
+            "/api/proyectos",
+            "/api/proyectos/pagina",
+            "/api/proyectos/activos"
+    })
+    void cuandoCrecenLasFilas_entoncesLaCantidadDeSentenciasNoCambia(String url) throws Exception {
+
+        crearEmpleados(2);
+        long sentenciasConPocasFilas = contarSentencias(url);
+
+        crearEmpleados(25);
+        long sentenciasConMuchasFilas = contarSentencias(url);
+
+        assertEquals(sentenciasConPocasFilas, sentenciasConMuchasFilas,
+                "La cantidad de sentencias de " + url + " depende de la cantidad de filas (N+1)");
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private long contarSentencias(String url) throws Exception {
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private void crearEmpleados(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado");
+            empleado.setApellido("Listado");
+            empleado.setEmail("listado" + (creados++) + "@test.com");
+            empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+            empleado.setSalario(new BigDecimal("50000.00"));
+            empleado.setDepartamento(departamento);
+            empleado.setProyectos(new HashSet<>(proyectos));
+            empleadoRepository.save(empleado);
+        }
+    }
+
+    private Proyecto crearProyecto(String nombre) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(LocalDate.now().minusMonths(1));
+        proyecto.setFechaFin(LocalDate.now().plusYears(1));
+        return proyecto;
+    }
+}
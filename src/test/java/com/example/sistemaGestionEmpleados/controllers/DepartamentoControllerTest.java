@@ -1,8 +1,15 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ReporteDepartamento;
 import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.ReporteNoDisponibleException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.services.DepartamentoService;
+import com.example.sistemaGestionEmpleados.services.ReporteDepartamentoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +19,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
@@ -34,24 +43,44 @@ public class DepartamentoControllerTest {
     @MockBean
     private DepartamentoService departamentoService;
 
+    @MockBean
+    private ReporteDepartamentoService reporteDepartamentoService;
+
     private Departamento departamentoPrueba;
 
     @BeforeEach
     void setUp() {
         // Preparamos un objeto de prueba que se usará en varios tests
-        departamentoPrueba = new Departamento(1L, "Recursos Humanos", "Departamento de gestión de personal", Collections.emptyList());
+        departamentoPrueba = new Departamento(1L, 0L, "Recursos Humanos", "Departamento de gestión de personal", Collections.emptyList());
     }
 
     @Test
     void cuandoObtenerTodos_entoncesRetornaListaDeDepartamentos() throws Exception {
 
-        given(departamentoService.obtenerTodos()).willReturn(List.of(departamentoPrueba));
+        given(departamentoService.obtenerTodos()).willReturn(List.of(
+                new DepartamentoResumen(1L, "Recursos Humanos", "Departamento de gestión de personal", 3L)));
 
         mockMvc.perform(get("/api/departamentos"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.size()", is(1)))
-                .andExpect(jsonPath("$[0].nombre", is("Recursos Humanos")));
+                .andExpect(jsonPath("$[0].nombre", is("Recursos Humanos")))
+                .andExpect(jsonPath("$[0].cantidadEmpleados", is(3)));
+    }
+
+    @Test
+    void cuandoObtenerEstadisticas_entoncesRetornaResumenPorDepartamento() throws Exception {
+
+        given(departamentoService.obtenerEstadisticasSalariales()).willReturn(List.of(
+                new EstadisticasDepartamento(1L, "Recursos Humanos", 2L, new BigDecimal("40000.00"),
+                        new BigDecimal("60000.00"), new BigDecimal("100000.00"), LocalDate.of(2024, 5, 1))));
+
+        mockMvc.perform(get("/api/departamentos/estadisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].departamentoNombre", is("Recursos Humanos")))
+                .andExpect(jsonPath("$[0].cantidadEmpleados", is(2)))
+                .andExpect(jsonPath("$[0].salarioPromedio", is(50000.00)))
+                .andExpect(jsonPath("$[0].ultimaContratacion", is("2024-05-01")));
     }
 
     @Test
@@ -74,6 +103,36 @@ public class DepartamentoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void cuandoObtenerReporte_entoncesRetornaDepartamentoConEmpleadosYProyectos() throws Exception {
+
+        given(reporteDepartamentoService.generar(1L)).willReturn(new ReporteDepartamento(
+                new DepartamentoResumen(1L, "Recursos Humanos", "Departamento de gestión de personal", 1L),
+                new BigDecimal("50000.00"),
+                List.of(new EmpleadoResumen(10L, "Ana", "López", "ana@test.com", LocalDate.of(2024, 1, 1),
+                        new BigDecimal("50000.00"), 1L, "Recursos Humanos")),
+                List.of(new ProyectoResumen(20L, "Portal", "Portal interno", LocalDate.of(2024, 1, 1),
+                        LocalDate.of(2030, 1, 1), 3L))));
+
+        mockMvc.perform(get("/api/departamentos/{id}/reporte", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departamento.nombre", is("Recursos Humanos")))
+                .andExpect(jsonPath("$.salarioPromedio", is(50000.00)))
+                .andExpect(jsonPath("$.empleados[0].email", is("ana@test.com")))
+                .andExpect(jsonPath("$.proyectosActivos[0].nombre", is("Portal")));
+    }
+
+    @Test
+    void cuandoElReporteExcedeElPlazo_entoncesRetornaServiceUnavailable() throws Exception {
+
+        given(reporteDepartamentoService.generar(anyLong()))
+                .willThrow(new ReporteNoDisponibleException("El reporte no se completó en 2000 ms"));
+
+        mockMvc.perform(get("/api/departamentos/{id}/reporte", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is("El reporte no se completó en 2000 ms")));
+    }
+
     @Test
     void cuandoCrearDepartamento_entoncesRetornaCreated() throws Exception {
 
@@ -90,7 +149,7 @@ public class DepartamentoControllerTest {
     @Test
     void cuandoActualizarDepartamento_entoncesRetornaOk() throws Exception {
 
-        Departamento departamentoActualizado = new Departamento(1L, "RR.HH. Global", "Gestión de personal internacional", null);
+        Departamento departamentoActualizado = new Departamento(1L, 0L, "RR.HH. Global", "Gestión de personal internacional", null);
         given(departamentoService.actualizar(anyLong(), any(Departamento.class))).willReturn(departamentoActualizado);
 
         mockMvc.perform(put("/api/departamentos/{id}", 1L)
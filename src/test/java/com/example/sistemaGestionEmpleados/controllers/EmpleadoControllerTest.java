@@ -1,30 +1,55 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoExportacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoParcial;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EstadoImportacion;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
+import com.example.sistemaGestionEmpleados.exceptions.BusquedaInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.EliminacionInvalidaException;
 import com.example.sistemaGestionEmpleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionNoEncontradaException;
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.models.Empleado;
 import com.example.sistemaGestionEmpleados.services.EmpleadoService;
+import com.example.sistemaGestionEmpleados.services.ImportacionEmpleadosService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @WebMvcTest(controllers = EmpleadoController.class)
 public class EmpleadoControllerTest {
@@ -37,26 +62,117 @@ public class EmpleadoControllerTest {
     @MockBean
     private EmpleadoService empleadoService;
 
+    @MockBean
+    private ImportacionEmpleadosService importacionService;
+
     private Empleado empleadoPrueba;
+    private EmpleadoResumen resumenPrueba;
     private Departamento departamentoPrueba;
 
     @BeforeEach
     void setUp() {
-        departamentoPrueba = new Departamento(1L, "IT", "Tecnología", Collections.emptyList());
-        empleadoPrueba = new Empleado(1L, "Ana", "Gomez", "ana.gomez@test.com",
+        departamentoPrueba = new Departamento(1L, 0L, "IT", "Tecnología", Collections.emptyList());
+        empleadoPrueba = new Empleado(1L, 0L, "Ana", "Gomez", "ana.gomez@test.com",
                 LocalDate.now(), new BigDecimal("60000.00"), departamentoPrueba, Collections.emptySet());
+        resumenPrueba = new EmpleadoResumen(1L, "Ana", "Gomez", "ana.gomez@test.com",
+                LocalDate.now(), new BigDecimal("60000.00"), 1L, "IT");
     }
 
     @Test
     void cuandoObtenerTodos_entoncesRetornaListaDeEmpleados() throws Exception {
 
-        given(empleadoService.obtenerTodos()).willReturn(List.of(empleadoPrueba));
+        given(empleadoService.obtenerTodos()).willReturn(List.of(resumenPrueba));
 
         mockMvc.perform(get("/api/empleados"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.size()", is(1)))
-                .andExpect(jsonPath("$[0].nombre", is("Ana")));
+                .andExpect(jsonPath("$[0].nombre", is("Ana")))
+                .andExpect(jsonPath("$[0].departamentoNombre", is("IT")));
+    }
+
+    @Test
+    void cuandoObtenerPagina_entoncesRetornaElementosYCursorSiguiente() throws Exception {
+
+        given(empleadoService.obtenerPagina(null, 1, "id"))
+                .willReturn(new PaginaCursor<>(List.of(resumenPrueba), "c2lndWllbnRl", true));
+
+        mockMvc.perform(get("/api/empleados/pagina").param("tamanio", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elementos.size()", is(1)))
+                .andExpect(jsonPath("$.elementos[0].nombre", is("Ana")))
+                .andExpect(jsonPath("$.siguienteCursor", is("c2lndWllbnRl")))
+                .andExpect(jsonPath("$.hayMas", is(true)));
+    }
+
+    @Test
+    void cuandoObtenerPaginaConCursorInvalido_entoncesRetornaBadRequest() throws Exception {
+
+        given(empleadoService.obtenerPagina("basura", null, "id"))
+                .willThrow(new PaginacionInvalidaException("Cursor de paginación inválido: basura"));
+
+        mockMvc.perform(get("/api/empleados/pagina").param("cursor", "basura"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cuandoBuscarPorNombre_entoncesRetornaCoincidencias() throws Exception {
+
+        given(empleadoService.buscarPorNombre("gom", null))
+                .willReturn(List.of(new EmpleadoCoincidencia(1L, "Ana", "Gomez")));
+
+        mockMvc.perform(get("/api/empleados/buscar").param("q", "gom"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].apellido", is("Gomez")));
+    }
+
+    @Test
+    void cuandoBuscarPorNombreSinTexto_entoncesRetornaBadRequest() throws Exception {
+
+        given(empleadoService.buscarPorNombre(null, null))
+                .willThrow(new BusquedaInvalidaException("El parámetro q es obligatorio"));
+
+        mockMvc.perform(get("/api/empleados/buscar"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("El parámetro q es obligatorio")));
+    }
+
+    @Test
+    void cuandoContarPorRangoSalario_entoncesRetornaLaCantidad() throws Exception {
+
+        given(empleadoService.contarPorRangoSalario(new BigDecimal("40000"), new BigDecimal("60000.50"))).willReturn(42L);
+
+        mockMvc.perform(get("/api/empleados/salario/cantidad").param("min", "40000").param("max", "60000.50"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("42"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cuandoExportar_entoncesEscribeUnEmpleadoPorLinea() throws Exception {
+
+        doAnswer(invocation -> {
+            Consumer<EmpleadoExportacion> consumidor = invocation.getArgument(0);
+            consumidor.accept(EmpleadoExportacion.desde(empleadoPrueba));
+            consumidor.accept(EmpleadoExportacion.desde(empleadoPrueba));
+            return 2L;
+        }).when(empleadoService).exportarTodos(any(Consumer.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/empleados/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("ana.gomez@test.com", objectMapper.readTree(lineas[0]).get("email").asText());
+        assertEquals(1, objectMapper.readTree(lineas[1]).get("departamentoId").asInt());
     }
 
     @Test
@@ -70,6 +186,30 @@ public class EmpleadoControllerTest {
                 .andExpect(jsonPath("$.email", is("ana.gomez@test.com")));
     }
 
+    @Test
+    void cuandoObtenerPorIdConEtagVigente_entoncesRetornaNotModifiedSinCargarElEmpleado() throws Exception {
+
+        given(empleadoService.obtenerEtag(1L)).willReturn("\"a1b2\"");
+
+        mockMvc.perform(get("/api/empleados/{id}", 1L).header("If-None-Match", "\"a1b2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"a1b2\""))
+                .andExpect(content().string(""));
+        verify(empleadoService, never()).buscarPorId(anyLong());
+    }
+
+    @Test
+    void cuandoObtenerPorIdConEtagAnterior_entoncesRetornaEmpleadoYEtagNuevo() throws Exception {
+
+        given(empleadoService.obtenerEtag(1L)).willReturn("\"c3d4\"");
+        given(empleadoService.buscarPorId(1L)).willReturn(empleadoPrueba);
+
+        mockMvc.perform(get("/api/empleados/{id}", 1L).header("If-None-Match", "\"a1b2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"c3d4\""))
+                .andExpect(jsonPath("$.nombre", is("Ana")));
+    }
+
     @Test
     void cuandoObtenerPorIdNoExistente_entoncesRetornaNotFound() throws Exception {
 
@@ -92,10 +232,51 @@ public class EmpleadoControllerTest {
                 .andExpect(jsonPath("$.nombre", is("Ana")));
     }
 
+    @Test
+    void cuandoCrearEmpleadoViolaEmailUnico_entoncesRetornaConflict() throws Exception {
+
+        given(empleadoService.guardar(any(Empleado.class))).willThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_EMPLEADOS_EMAIL_INDEX_B ON PUBLIC.EMPLEADOS(EMAIL)\""));
+
+        mockMvc.perform(post("/api/empleados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(empleadoPrueba)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Conflicto de datos")))
+                .andExpect(jsonPath("$.message", is("El email ya está registrado")));
+    }
+
+    @Test
+    void cuandoCrearEmpleadoViolaOtraRestriccion_entoncesRetornaBadRequest() throws Exception {
+
+        given(empleadoService.guardar(any(Empleado.class))).willThrow(new DataIntegrityViolationException(
+                "Referential integrity constraint violation: \"FK_EMPLEADOS_DEPARTAMENTO: PUBLIC.EMPLEADOS FOREIGN KEY(DEPARTAMENTO_ID)\""));
+
+        mockMvc.perform(post("/api/empleados")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(empleadoPrueba)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Solicitud inválida")));
+    }
+
+    @Test
+    void cuandoCrearLote_entoncesRetornaCreadosYErrores() throws Exception {
+
+        given(empleadoService.guardarLote(any())).willReturn(new ResultadoLote(2, 1, List.of(1L),
+                List.of(new ResultadoLote.ErrorItem(1, "ana.gomez@test.com", "El email está repetido en el lote: ana.gomez@test.com"))));
+
+        mockMvc.perform(post("/api/empleados/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(empleadoPrueba, empleadoPrueba))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creados", is(1)))
+                .andExpect(jsonPath("$.errores[0].indice", is(1)));
+    }
+
     @Test
     void cuandoActualizarEmpleado_entoncesRetornaOk() throws Exception {
 
-        Empleado empleadoActualizado = new Empleado(1L, "Ana", "Gomez Actualizado", "ana.gomez@test.com",
+        Empleado empleadoActualizado = new Empleado(1L, 0L, "Ana", "Gomez Actualizado", "ana.gomez@test.com",
                 LocalDate.now(), new BigDecimal("65000.00"), departamentoPrueba, Collections.emptySet());
 
         given(empleadoService.actualizar(anyLong(), any(Empleado.class))).willReturn(empleadoActualizado);
@@ -120,6 +301,30 @@ public class EmpleadoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void cuandoActualizarParcialmente_entoncesRetornaNoContentYSoloPasaLosCamposEnviados() throws Exception {
+
+        mockMvc.perform(patch("/api/empleados/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salario\": 70000.50}"))
+                .andExpect(status().isNoContent());
+
+        verify(empleadoService).actualizarParcial(1L,
+                new EmpleadoParcial(null, null, null, null, new BigDecimal("70000.50"), null));
+    }
+
+    @Test
+    void cuandoActualizarParcialmenteEmpleadoNoExistente_entoncesRetornaNotFound() throws Exception {
+
+        doThrow(new EmpleadoNoEncontradoException("Empleado no encontrado"))
+                .when(empleadoService).actualizarParcial(anyLong(), any(EmpleadoParcial.class));
+
+        mockMvc.perform(patch("/api/empleados/{id}", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Ana\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void cuandoEliminarEmpleado_entoncesRetornaNoContent() throws Exception {
 
@@ -129,4 +334,63 @@ public class EmpleadoControllerTest {
         mockMvc.perform(delete("/api/empleados/{id}", 1L))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void cuandoEliminarLote_entoncesRetornaSolicitadosYEliminados() throws Exception {
+
+        given(empleadoService.eliminarLote(Set.of(1L, 2L, 99L))).willReturn(new ResultadoEliminacion(3, 2));
+
+        mockMvc.perform(delete("/api/empleados/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Set.of(1L, 2L, 99L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solicitados", is(3)))
+                .andExpect(jsonPath("$.eliminados", is(2)));
+    }
+
+    @Test
+    void cuandoEliminarPorFiltro_entoncesPasaLosCriteriosAlServicio() throws Exception {
+
+        given(empleadoService.eliminarPorFiltro(5L, LocalDate.of(2020, 1, 1))).willReturn(new ResultadoEliminacion(4, 4));
+
+        mockMvc.perform(delete("/api/empleados")
+                        .param("departamentoId", "5")
+                        .param("contratadosAntesDe", "2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eliminados", is(4)));
+    }
+
+    @Test
+    void cuandoEliminarPorFiltroSinCriterios_entoncesRetornaBadRequest() throws Exception {
+
+        given(empleadoService.eliminarPorFiltro(null, null))
+                .willThrow(new EliminacionInvalidaException("Indique al menos un criterio"));
+
+        mockMvc.perform(delete("/api/empleados"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cuandoImportarCsv_entoncesRetornaAcceptedConLaUbicacionDelEstado() throws Exception {
+
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "empleados.csv", "text/csv",
+                "nombre,apellido,email,fechaContratacion,salario\nAna,Gomez,ana@test.com,2024-01-01,1000\n".getBytes(StandardCharsets.UTF_8));
+        given(importacionService.iniciar(any())).willReturn(new EstadoImportacion("abc", EstadoImportacion.Estado.EN_COLA,
+                archivo.getSize(), 0, 0, 0, 0, List.of(), null, LocalDateTime.now(), null));
+
+        mockMvc.perform(multipart("/api/empleados/import").file(archivo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/empleados/import/abc"))
+                .andExpect(jsonPath("$.estado", is("EN_COLA")));
+    }
+
+    @Test
+    void cuandoConsultarImportacionInexistente_entoncesRetornaNotFound() throws Exception {
+
+        given(importacionService.obtenerEstado("nada"))
+                .willThrow(new ImportacionNoEncontradaException("Importación no encontrada con ID: nada"));
+
+        mockMvc.perform(get("/api/empleados/import/{id}", "nada"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -1,5 +1,8 @@
 package com.example.sistemaGestionEmpleados.controllers;
 
+import com.example.sistemaGestionEmpleados.dtos.CambioMiembros;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
 import com.example.sistemaGestionEmpleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
 import com.example.sistemaGestionEmpleados.services.ProyectoService;
@@ -23,6 +26,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,12 +43,15 @@ public class ProyectoControllerTest {
     private ProyectoService proyectoService;
 
     private Proyecto proyectoPrueba;
+    private ProyectoResumen resumenPrueba;
 
     @BeforeEach
     void setUp() {
         // Configuramos un objeto de prueba para reutilizarlo
-        proyectoPrueba = new Proyecto(1L, "Proyecto Centinela", "Iniciativa de seguridad global",
+        proyectoPrueba = new Proyecto(1L, 0L, "Proyecto Centinela", "Iniciativa de seguridad global",
                 LocalDate.now(), LocalDate.now().plusMonths(6), Collections.emptySet());
+        resumenPrueba = new ProyectoResumen(1L, "Proyecto Centinela", "Iniciativa de seguridad global",
+                LocalDate.now(), LocalDate.now().plusMonths(6), 0L);
 
         // El ObjectMapper necesita el módulo de JavaTime para serializar/deserializar LocalDate
         objectMapper.registerModule(new JavaTimeModule());
@@ -52,7 +60,7 @@ public class ProyectoControllerTest {
     @Test
     void cuandoObtenerTodos_entoncesRetornaListaDeProyectos() throws Exception {
 
-        given(proyectoService.obtenerTodos()).willReturn(List.of(proyectoPrueba));
+        given(proyectoService.obtenerTodos()).willReturn(List.of(resumenPrueba));
 
         mockMvc.perform(get("/api/proyectos"))
                 .andExpect(status().isOk())
@@ -61,6 +69,17 @@ public class ProyectoControllerTest {
                 .andExpect(jsonPath("$[0].nombre", is("Proyecto Centinela")));
     }
 
+    @Test
+    void cuandoObtenerTodosConEtagVigente_entoncesRetornaNotModifiedSinConsultarLaLista() throws Exception {
+
+        given(proyectoService.obtenerEtagListado()).willReturn("\"e5f6\"");
+
+        mockMvc.perform(get("/api/proyectos").header("If-None-Match", "\"e5f6\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"e5f6\""));
+        verify(proyectoService, never()).obtenerTodos();
+    }
+
     @Test
     void cuandoObtenerPorIdExistente_entoncesRetornaProyecto() throws Exception {
 
@@ -96,7 +115,7 @@ public class ProyectoControllerTest {
     @Test
     void cuandoActualizarProyecto_entoncesRetornaOk() throws Exception {
 
-        Proyecto proyectoActualizado = new Proyecto(1L, "Proyecto Centinela V2", "Versión mejorada", null, null, null);
+        Proyecto proyectoActualizado = new Proyecto(1L, 0L, "Proyecto Centinela V2", "Versión mejorada", null, null, null);
         given(proyectoService.actualizar(anyLong(), any(Proyecto.class))).willReturn(proyectoActualizado);
 
         mockMvc.perform(put("/api/proyectos/{id}", 1L)
@@ -118,7 +137,7 @@ public class ProyectoControllerTest {
     @Test
     void cuandoObtenerProyectosActivos_entoncesRetornaListaCorrecta() throws Exception {
 
-        given(proyectoService.buscarPorProyectosActivos()).willReturn(List.of(proyectoPrueba));
+        given(proyectoService.buscarPorProyectosActivos()).willReturn(List.of(resumenPrueba));
 
         mockMvc.perform(get("/api/proyectos/activos"))
                 .andExpect(status().isOk())
@@ -141,4 +160,52 @@ public class ProyectoControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.nombre", is("Proyecto Centinela")));
     }
+
+    @Test
+    void cuandoAgregarEmpleados_entoncesRetornaCantidadAgregada() throws Exception {
+
+        given(proyectoService.agregarEmpleadosAProyecto(1L, Set.of(10L, 20L))).willReturn(new CambioMiembros(1L, 2, 1));
+
+        mockMvc.perform(post("/api/proyectos/{proyectoId}/empleados", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Set.of(10L, 20L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solicitados", is(2)))
+                .andExpect(jsonPath("$.modificados", is(1)));
+    }
+
+    @Test
+    void cuandoQuitarEmpleadosDeProyectoInexistente_entoncesRetornaNotFound() throws Exception {
+
+        given(proyectoService.quitarEmpleadosDeProyecto(anyLong(), any(Set.class)))
+                .willThrow(new ProyectoNoEncontradoException("No se encontró"));
+
+        mockMvc.perform(delete("/api/proyectos/{proyectoId}/empleados", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Set.of(10L))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cuandoEliminarLote_entoncesRetornaSolicitadosYEliminados() throws Exception {
+
+        given(proyectoService.eliminarLote(Set.of(1L, 2L))).willReturn(new ResultadoEliminacion(2, 2));
+
+        mockMvc.perform(delete("/api/proyectos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Set.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solicitados", is(2)))
+                .andExpect(jsonPath("$.eliminados", is(2)));
+    }
+
+    @Test
+    void cuandoEliminarFinalizados_entoncesPasaLaFechaAlServicio() throws Exception {
+
+        given(proyectoService.eliminarFinalizadosAntesDe(LocalDate.of(2024, 6, 30))).willReturn(new ResultadoEliminacion(3, 3));
+
+        mockMvc.perform(delete("/api/proyectos").param("finalizadosAntesDe", "2024-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eliminados", is(3)));
+    }
 }
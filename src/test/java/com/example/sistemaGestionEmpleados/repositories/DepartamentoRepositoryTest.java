@@ -1,15 +1,21 @@
 package com.example.sistemaGestionEmpleados.repositories;
 
+import com.example.sistemaGestionEmpleados.dtos.EstadisticasDepartamento;
 import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -33,4 +39,47 @@ public class DepartamentoRepositoryTest {
         assertTrue(encontrado.isPresent());
         assertEquals("Ventas", encontrado.get().getNombre());
     }
+
+    @Test
+    void cuandoFindEstadisticasSalariales_entoncesAgrupaPorDepartamento() {
+
+        Departamento tecnologia = new Departamento();
+        tecnologia.setNombre("Tecnología");
+        entityManager.persist(tecnologia);
+        Departamento vacio = new Departamento();
+        vacio.setNombre("Auditoría");
+        entityManager.persist(vacio);
+        entityManager.persist(crearEmpleado("e1@test.com", "50000.00", LocalDate.of(2023, 3, 1), tecnologia));
+        entityManager.persist(crearEmpleado("e2@test.com", "70000.00", LocalDate.of(2024, 6, 15), tecnologia));
+        entityManager.persist(crearEmpleado("e3@test.com", "60001.00", LocalDate.of(2022, 1, 10), tecnologia));
+        entityManager.flush();
+
+        List<EstadisticasDepartamento> estadisticas = departamentoRepository.findEstadisticasSalariales();
+
+        // Ordenadas por nombre: primero el departamento sin empleados
+        assertEquals(2, estadisticas.size());
+        EstadisticasDepartamento sinEmpleados = estadisticas.get(0);
+        assertEquals(0, sinEmpleados.cantidadEmpleados());
+        assertNull(sinEmpleados.salarioPromedio());
+
+        EstadisticasDepartamento conEmpleados = estadisticas.get(1);
+        assertEquals(tecnologia.getId(), conEmpleados.departamentoId());
+        assertEquals(3, conEmpleados.cantidadEmpleados());
+        assertEquals(0, conEmpleados.salarioMinimo().compareTo(new BigDecimal("50000.00")));
+        assertEquals(0, conEmpleados.salarioMaximo().compareTo(new BigDecimal("70000.00")));
+        assertEquals(0, conEmpleados.salarioTotal().compareTo(new BigDecimal("180001.00")));
+        assertEquals(new BigDecimal("60000.33"), conEmpleados.salarioPromedio());
+        assertEquals(LocalDate.of(2024, 6, 15), conEmpleados.ultimaContratacion());
+    }
+
+    private Empleado crearEmpleado(String email, String salario, LocalDate fechaContratacion, Departamento departamento) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Test");
+        empleado.setApellido("Estadisticas");
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(fechaContratacion);
+        empleado.setSalario(new BigDecimal(salario));
+        empleado.setDepartamento(departamento);
+        return empleado;
+    }
 }
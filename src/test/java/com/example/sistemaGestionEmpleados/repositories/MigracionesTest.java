@@ -0,0 +1,79 @@
+package com.example.sistemaGestionEmpleados.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// El esquema de los tests lo crean las migraciones de db/migration/h2 y Hibernate lo valida al arrancar
+@DataJpaTest
+@ActiveProfiles("h2")
+public class MigracionesTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void cuandoArrancaLaAplicacion_entoncesSeAplicanTodasLasMigraciones() {
+
+        List<?> versiones = entityManager.getEntityManager()
+                .createNativeQuery("SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" ORDER BY \"installed_rank\"")
+                .getResultList();
+
+        assertEquals(List.of("1", "2", "3"), versiones);
+    }
+
+    @Test
+    void cuandoSeAplicanLasMigraciones_entoncesExistenLosIndicesDeLasConsultas() {
+
+        List<?> nombres = entityManager.getEntityManager()
+                .createNativeQuery("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_%'")
+                .getResultList();
+        Set<String> indices = nombres.stream().map(Object::toString).collect(Collectors.toSet());
+
+        assertTrue(indices.containsAll(Set.of(
+                "IDX_EMPLEADOS_SALARIO",
+                "IDX_EMPLEADOS_FECHA_CONTRATACION",
+                "IDX_EMPLEADOS_DEPARTAMENTO",
+                "IDX_PROYECTOS_FECHA_FIN",
+                "IDX_PROYECTOS_NOMBRE",
+                "IDX_EMPLEADO_PROYECTO_PROYECTO")), "Índices encontrados: " + indices);
+    }
+
+    @Test
+    void cuandoLaBaseLaCreoDdlAuto_entoncesFlywayNoLaMigra() {
+
+        DriverManagerDataSource anterior = new DriverManagerDataSource("jdbc:h2:mem:ddlauto;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(anterior);
+        // El esquema como lo dejaba ddl-auto: update antes de las migraciones
+        jdbc.execute("CREATE TABLE departamentos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "descripcion VARCHAR(500), nombre VARCHAR(100) NOT NULL UNIQUE)");
+        jdbc.execute("CREATE TABLE empleados (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "apellido VARCHAR(100) NOT NULL, email VARCHAR(255) NOT NULL UNIQUE, fecha_contratacion DATE NOT NULL, "
+                + "nombre VARCHAR(100) NOT NULL, salario NUMERIC(10, 2) NOT NULL, "
+                + "departamento_id BIGINT REFERENCES departamentos (id))");
+        jdbc.update("INSERT INTO empleados (apellido, email, fecha_contratacion, nombre, salario) "
+                + "VALUES ('Gomez', 'ana.gomez@empresa.com', DATE '2025-09-14', 'Ana', 75000.50)");
+
+        Flyway migraciones = Flyway.configure().configuration(flyway.getConfiguration()).dataSource(anterior).load();
+
+        assertThrows(FlywayException.class, migraciones::migrate);
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'flyway_schema_history'", Integer.class));
+        jdbc.execute("SHUTDOWN");
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.config.IndiceNombresEndpoint;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoCoincidencia;
+import com.example.sistemaGestionEmpleados.exceptions.BusquedaInvalidaException;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice se actualiza recién después del commit de cada escritura
+@SpringBootTest
+@ActiveProfiles("test")
+public class BusquedaNombresIntegrationTest {
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private IndiceNombres indiceNombres;
+
+    @Autowired
+    private IndiceNombresEndpoint indiceNombresEndpoint;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        creados.forEach(empleadoService::eliminar);
+        creados.clear();
+    }
+
+    @Test
+    void cuandoBuscarPorPrefijoSinAcentos_entoncesEncuentraAlEmpleado() {
+
+        Long id = crear("José", "Quiñones Gómez");
+
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("jose quin", null)));
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("GOMEZ", null)));
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("quiñ", null)));
+    }
+
+    @Test
+    void cuandoBuscarConErrorDeTipeo_entoncesEncuentraAlEmpleado() {
+
+        Long id = crear("Anastasia", "Quiñones");
+
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("quinoens", null)));
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("anastacia", null)));
+    }
+
+    @Test
+    void cuandoHayCoincidenciaExactaYPorPrefijo_entoncesLaExactaVaPrimero() {
+
+        Long prefijo = crear("Marcela", "Zubizarreta");
+        Long exacto = crear("Ulma", "Zubi");
+
+        List<EmpleadoCoincidencia> resultado = empleadoService.buscarPorNombre("zubi", null);
+
+        assertEquals(List.of(exacto, prefijo), ids(resultado));
+        assertEquals(List.of(exacto), ids(empleadoService.buscarPorNombre("zubi", 1)));
+    }
+
+    @Test
+    void cuandoActualizarYEliminar_entoncesElIndiceReflejaLosCambios() {
+
+        Long id = crear("Ulises", "Etxeberria");
+        Empleado cambios = empleado("Ulises", "Ybarra");
+        empleadoService.actualizar(id, cambios);
+
+        assertTrue(empleadoService.buscarPorNombre("etxeberria", null).isEmpty());
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("ybarra", null)));
+
+        empleadoService.eliminar(id);
+        creados.remove(id);
+
+        assertTrue(empleadoService.buscarPorNombre("ybarra", null).isEmpty());
+    }
+
+    @Test
+    void cuandoLaTransaccionHaceRollback_entoncesElEmpleadoNoApareceEnLaBusqueda() {
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.guardar(empleado("Wenceslao", "Arrieta"));
+            estado.setRollbackOnly();
+        });
+
+        assertTrue(empleadoService.buscarPorNombre("wenceslao", null).isEmpty());
+    }
+
+    @Test
+    void cuandoSeEscribeSinPasarPorElServicio_entoncesLaVerificacionLoDetectaYReconstruirLoCorrige() {
+
+        // Los tests de otros contextos comparten la base y no pasan por este índice: se parte de una carga nueva
+        indiceNombres.reconstruir();
+        Long id = crear("Desfasado", "Verificación");
+        Empleado directo = empleadoRepository.findById(id).orElseThrow();
+        directo.setApellido("Reparado");
+        empleadoRepository.save(directo);
+
+        IndiceNombres.Verificacion verificacion = indiceNombresEndpoint.verificar();
+
+        assertFalse(verificacion.consistente());
+        assertEquals(List.of(id), verificacion.idsFaltantes());
+        assertEquals(List.of(id), verificacion.idsSobrantes());
+
+        IndiceNombresEndpoint.Reconstruccion reconstruccion = indiceNombresEndpoint.reconstruir();
+
+        assertEquals(verificacion.empleadosEnBase(), reconstruccion.empleados());
+        assertTrue(indiceNombres.verificar().consistente());
+        assertEquals(List.of(id), ids(empleadoService.buscarPorNombre("desfasado reparado", null)));
+    }
+
+    @Test
+    void cuandoBuscarSinTextoOConLimiteInvalido_entoncesLanzaBusquedaInvalidaException() {
+
+        assertThrows(BusquedaInvalidaException.class, () -> empleadoService.buscarPorNombre("  ", null));
+        assertThrows(BusquedaInvalidaException.class, () -> empleadoService.buscarPorNombre("ana", 0));
+        assertThrows(BusquedaInvalidaException.class, () -> empleadoService.buscarPorNombre("ana", 101));
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private Long crear(String nombre, String apellido) {
+        Long id = empleadoService.guardar(empleado(nombre, apellido)).getId();
+        creados.add(id);
+        return id;
+    }
+
+    private Empleado empleado(String nombre, String apellido) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre(nombre);
+        empleado.setApellido(apellido);
+        empleado.setEmail(nombre.toLowerCase() + "." + apellido.toLowerCase().replace(' ', '.') + "@busqueda.com");
+        empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+        empleado.setSalario(new BigDecimal("50000.00"));
+        return empleado;
+    }
+
+    private List<Long> ids(List<EmpleadoCoincidencia> coincidencias) {
+        return coincidencias.stream().map(EmpleadoCoincidencia::id).toList();
+    }
+}
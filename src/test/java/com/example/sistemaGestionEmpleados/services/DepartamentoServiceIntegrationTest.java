@@ -1,5 +1,6 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
 import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
@@ -126,7 +127,7 @@ public class DepartamentoServiceIntegrationTest {
         departamentoService.guardar(crearDepartamentoDePrueba("Calidad"));
         departamentoService.guardar(crearDepartamentoDePrueba("Soporte"));
 
-        List<Departamento> departamentos = departamentoService.obtenerTodos();
+        List<DepartamentoResumen> departamentos = departamentoService.obtenerTodos();
 
         assertNotNull(departamentos);
         assertEquals(2, departamentos.size());
@@ -1,11 +1,26 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.config.MetricasCapas;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoExportacion;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoParcial;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.PaginaCursor;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoLote;
+import com.example.sistemaGestionEmpleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.EliminacionInvalidaException;
 import com.example.sistemaGestionEmpleados.exceptions.EmailDuplicadoException;
 import com.example.sistemaGestionEmpleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.PaginacionInvalidaException;
 import com.example.sistemaGestionEmpleados.models.Departamento;
 import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.models.Proyecto;
 import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
 import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +30,14 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +54,15 @@ public class EmpleadoServiceIntegrationTest {
     @Autowired
     private DepartamentoRepository departamentoRepository;
 
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Departamento departamentoPrueba;
 
     // Preparar datos
@@ -140,6 +171,45 @@ public class EmpleadoServiceIntegrationTest {
         });
     }
 
+    @Test
+    void cuandoActualizarParcialmente_entoncesSoloCambiaElCampoEnviadoYSubeLaVersion() {
+
+        Empleado guardado = empleadoService.guardar(crearEmpleadoDePrueba("parcial@empresa.com"));
+
+        empleadoService.actualizarParcial(guardado.getId(),
+                new EmpleadoParcial(null, null, null, null, new BigDecimal("61000.00"), null));
+
+        Empleado actualizado = empleadoRepository.findById(guardado.getId()).orElseThrow();
+        assertEquals(new BigDecimal("61000.00"), actualizado.getSalario());
+        assertEquals("Empleado", actualizado.getNombre());
+        assertEquals("parcial@empresa.com", actualizado.getEmail());
+        assertEquals(departamentoPrueba.getId(), actualizado.getDepartamento().getId());
+        assertEquals(guardado.getVersion() + 1, actualizado.getVersion());
+    }
+
+    @Test
+    void cuandoActualizarParcialmenteSinCamposOInexistenteOConEmailAjeno_entoncesLanzaLaExcepcionCorrespondiente() {
+
+        empleadoService.guardar(crearEmpleadoDePrueba("ocupado@empresa.com"));
+        Long id = empleadoService.guardar(crearEmpleadoDePrueba("libre@empresa.com")).getId();
+
+        assertThrows(ActualizacionInvalidaException.class, () ->
+                empleadoService.actualizarParcial(id, new EmpleadoParcial(null, null, null, null, null, null)));
+        assertThrows(EmpleadoNoEncontradoException.class, () ->
+                empleadoService.actualizarParcial(999_999L, new EmpleadoParcial("Nadie", null, null, null, null, null)));
+        assertThrows(EmailDuplicadoException.class, () ->
+                empleadoService.actualizarParcial(id, new EmpleadoParcial(null, null, "ocupado@empresa.com", null, null, null)));
+    }
+
+    @Test
+    void cuandoActualizarParcialmenteConDepartamentoInexistente_entoncesLanzaDepartamentoNoEncontradoException() {
+
+        Long id = empleadoService.guardar(crearEmpleadoDePrueba("sin.departamento@empresa.com")).getId();
+
+        assertThrows(DepartamentoNoEncontradoException.class, () ->
+                empleadoService.actualizarParcial(id, new EmpleadoParcial(null, null, null, null, null, 999_999L)));
+    }
+
     @Test
     void cuandoEliminarEmpleadoExistente_entoncesDejaDeExistir() {
 
@@ -162,18 +232,243 @@ public class EmpleadoServiceIntegrationTest {
         });
     }
 
+    @Test
+    void cuandoEliminarLote_entoncesBorraLosEmpleadosYSusMembresiasSinContarLosInexistentes() {
+
+        Empleado empleado1 = empleadoService.guardar(crearEmpleadoDePrueba("lote1@empresa.com"));
+        Empleado empleado2 = empleadoService.guardar(crearEmpleadoDePrueba("lote2@empresa.com"));
+        Empleado queda = empleadoService.guardar(crearEmpleadoDePrueba("queda@empresa.com"));
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Proyecto Lote");
+        proyecto.setFechaInicio(LocalDate.of(2024, 1, 1));
+        proyecto.setFechaFin(LocalDate.of(2026, 1, 1));
+        proyecto = proyectoRepository.save(proyecto);
+        proyectoRepository.agregarEmpleados(proyecto.getId(), Set.of(empleado1.getId(), empleado2.getId(), queda.getId()));
+
+        ResultadoEliminacion resultado = empleadoService.eliminarLote(Set.of(empleado1.getId(), empleado2.getId(), 999_999L));
+
+        assertEquals(3, resultado.solicitados());
+        assertEquals(2, resultado.eliminados());
+        assertFalse(empleadoRepository.existsById(empleado1.getId()));
+        assertTrue(empleadoRepository.existsById(queda.getId()));
+        assertEquals(List.of(queda.getId()), proyectoRepository.findIdsEmpleados(proyecto.getId()));
+    }
+
+    @Test
+    void cuandoEliminarPorFiltro_entoncesSoloBorraLosQueCumplenTodosLosCriterios() {
+
+        Empleado antiguo = crearEmpleadoDePrueba("antiguo@empresa.com");
+        antiguo.setFechaContratacion(LocalDate.of(2010, 3, 1));
+        Long antiguoId = empleadoService.guardar(antiguo).getId();
+        Long recienteId = empleadoService.guardar(crearEmpleadoDePrueba("reciente@empresa.com")).getId();
+
+        ResultadoEliminacion resultado = empleadoService.eliminarPorFiltro(departamentoPrueba.getId(), LocalDate.of(2020, 1, 1));
+
+        assertEquals(1, resultado.eliminados());
+        assertFalse(empleadoRepository.existsById(antiguoId));
+        assertTrue(empleadoRepository.existsById(recienteId));
+        assertThrows(EliminacionInvalidaException.class, () -> empleadoService.eliminarPorFiltro(null, null));
+    }
+
     @Test
     void cuandoObtenerTodos_entoncesRetornaListaDeEmpleados() {
 
         empleadoService.guardar(crearEmpleadoDePrueba("empleado1@empresa.com"));
         empleadoService.guardar(crearEmpleadoDePrueba("empleado2@empresa.com"));
 
-        List<Empleado> empleados = empleadoService.obtenerTodos();
+        List<EmpleadoResumen> empleados = empleadoService.obtenerTodos();
 
         assertNotNull(empleados);
         assertEquals(2, empleados.size());
     }
 
+    @Test
+    void cuandoRecorrerPaginasPorSalario_entoncesDevuelveTodosSinRepetirEnOrden() {
+
+        Empleado medio = crearEmpleadoDePrueba("medio@empresa.com");
+        medio.setSalario(new BigDecimal("60000.00"));
+        Empleado bajo = crearEmpleadoDePrueba("bajo@empresa.com");
+        bajo.setSalario(new BigDecimal("40000.00"));
+        Empleado empate = crearEmpleadoDePrueba("empate@empresa.com");
+        empate.setSalario(new BigDecimal("60000.00"));
+        empleadoService.guardar(medio);
+        empleadoService.guardar(bajo);
+        empleadoService.guardar(empate);
+
+        PaginaCursor<EmpleadoResumen> primera = empleadoService.obtenerPagina(null, 2, "salario");
+        PaginaCursor<EmpleadoResumen> segunda = empleadoService.obtenerPagina(primera.siguienteCursor(), 2, "salario");
+
+        assertTrue(primera.hayMas());
+        assertEquals(List.of("bajo@empresa.com", "medio@empresa.com"),
+                primera.elementos().stream().map(EmpleadoResumen::email).toList());
+        assertFalse(segunda.hayMas());
+        assertNull(segunda.siguienteCursor());
+        assertEquals(List.of("empate@empresa.com"),
+                segunda.elementos().stream().map(EmpleadoResumen::email).toList());
+    }
+
+    @Test
+    void cuandoUsarCursorDeOtroOrden_entoncesLanzaPaginacionInvalidaException() {
+
+        empleadoService.guardar(crearEmpleadoDePrueba("uno@empresa.com"));
+        empleadoService.guardar(crearEmpleadoDePrueba("dos@empresa.com"));
+        String cursorPorId = empleadoService.obtenerPagina(null, 1, "id").siguienteCursor();
+
+        assertThrows(PaginacionInvalidaException.class, () -> {
+            empleadoService.obtenerPagina(cursorPorId, 1, "salario");
+        });
+    }
+
+    @Test
+    void cuandoExportarTodos_entoncesEntregaCadaEmpleadoEnOrdenDeId() {
+
+        Empleado primero = empleadoService.guardar(crearEmpleadoDePrueba("export1@empresa.com"));
+        Empleado segundo = empleadoService.guardar(crearEmpleadoDePrueba("export2@empresa.com"));
+        List<EmpleadoExportacion> filas = new ArrayList<>();
+
+        long exportados = empleadoService.exportarTodos(filas::add);
+
+        assertEquals(2, exportados);
+        assertEquals(List.of(primero.getId(), segundo.getId()), filas.stream().map(EmpleadoExportacion::id).toList());
+        assertEquals(departamentoPrueba.getId(), filas.get(0).departamentoId());
+    }
+
+    @Test
+    void cuandoGuardarLote_entoncesCreaLosValidosEInformaLosDuplicados() {
+
+        empleadoService.guardar(crearEmpleadoDePrueba("existente@empresa.com"));
+        List<Empleado> lote = List.of(
+                crearEmpleadoDePrueba("lote1@empresa.com"),
+                crearEmpleadoDePrueba("existente@empresa.com"),
+                crearEmpleadoDePrueba("lote2@empresa.com"),
+                crearEmpleadoDePrueba("lote1@empresa.com"));
+
+        ResultadoLote resultado = empleadoService.guardarLote(lote);
+
+        assertEquals(4, resultado.recibidos());
+        assertEquals(2, resultado.creados());
+        assertEquals(List.of(1, 3), resultado.errores().stream().map(ResultadoLote.ErrorItem::indice).toList());
+        assertTrue(resultado.idsCreados().stream().allMatch(empleadoRepository::existsById));
+        assertEquals(3, empleadoRepository.count());
+    }
+
+    @Test
+    void cuandoGuardarLoteConDepartamentoInexistente_entoncesInformaElItemYCreaLosDemas() {
+
+        Empleado sinDepartamento = crearEmpleadoDePrueba("lote.huerfano@empresa.com");
+        Departamento inexistente = new Departamento();
+        inexistente.setId(999_999L);
+        sinDepartamento.setDepartamento(inexistente);
+        List<Empleado> lote = List.of(crearEmpleadoDePrueba("lote.valido@empresa.com"), sinDepartamento);
+
+        ResultadoLote resultado = empleadoService.guardarLote(lote);
+
+        assertEquals(1, resultado.creados());
+        assertEquals(1, resultado.errores().size());
+        assertEquals(1, resultado.errores().get(0).indice());
+        assertEquals("Departamento no encontrado con ID: 999999", resultado.errores().get(0).mensaje());
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // Cada hilo confirma su propia transacción
+    void cuandoGuardarMismoEmailConcurrentemente_entoncesSoloUnoSePersiste() throws Exception {
+
+        int hilos = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        empleadoService.guardar(crearEmpleadoDePrueba("carrera@empresa.com"));
+                        return true;
+                    } catch (EmailDuplicadoException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int exitosos = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(30, TimeUnit.SECONDS)) {
+                    exitosos++;
+                }
+            }
+
+            assertEquals(1, exitosos);
+            assertEquals(1, empleadoRepository.findEmailsExistentes(List.of("carrera@empresa.com")).size());
+        } finally {
+            executor.shutdownNow();
+            // Sin transacción de test no hay rollback automático
+            empleadoRepository.deleteAll();
+            departamentoRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // La caché solo se llena y se invalida al confirmar
+    void cuandoActualizarEmpleadoCacheado_entoncesLaSiguienteLecturaVeLosCambios() {
+
+        try {
+            Empleado guardado = empleadoService.guardar(crearEmpleadoDePrueba("cache@empresa.com"));
+            Empleado primeraLectura = empleadoService.buscarPorId(guardado.getId());
+
+            // La segunda lectura sale de la caché: es la misma instancia
+            assertSame(primeraLectura, empleadoService.buscarPorId(guardado.getId()));
+
+            Empleado datosNuevos = crearEmpleadoDePrueba("cache@empresa.com");
+            datosNuevos.setNombre("Actualizado");
+            empleadoService.actualizar(guardado.getId(), datosNuevos);
+
+            assertEquals("Actualizado", empleadoService.buscarPorId(guardado.getId()).getNombre());
+        } finally {
+            empleadoRepository.deleteAll();
+            departamentoRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED) // La caché solo se llena y se invalida al confirmar
+    void cuandoActualizarParcialmenteEmpleadoCacheado_entoncesSuDepartamentoCacheadoTambienVeLosCambios() {
+
+        try {
+            Empleado guardado = empleadoService.guardar(crearEmpleadoDePrueba("cache.parcial@empresa.com"));
+            departamentoService.buscarPorId(departamentoPrueba.getId());
+            empleadoService.buscarPorId(guardado.getId());
+
+            empleadoService.actualizarParcial(guardado.getId(),
+                    new EmpleadoParcial("Parcial", null, null, null, null, null));
+
+            assertEquals("Parcial", empleadoService.buscarPorId(guardado.getId()).getNombre());
+            assertEquals("Parcial", departamentoService.buscarPorId(departamentoPrueba.getId())
+                    .getEmpleados().get(0).getNombre());
+        } finally {
+            empleadoRepository.deleteAll();
+            departamentoRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void cuandoLlamarAlServicio_entoncesRegistraTimerPorEntidadYOperacion() {
+
+        empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoPrueba.getId());
+        assertThrows(EmpleadoNoEncontradoException.class, () -> empleadoService.buscarPorId(999L));
+
+        Timer exitos = meterRegistry.find(MetricasCapas.METRICA_SERVICIOS)
+                .tags("entidad", "empleado", "operacion", "obtenerSalarioPromedioPorDepartamento", "resultado", "ok")
+                .timer();
+        Timer errores = meterRegistry.find(MetricasCapas.METRICA_SERVICIOS)
+                .tags("entidad", "empleado", "operacion", "buscarPorId", "resultado", "EmpleadoNoEncontradoException")
+                .timer();
+        assertNotNull(exitos);
+        assertTrue(exitos.count() >= 1);
+        assertNotNull(errores);
+        assertTrue(errores.count() >= 1);
+    }
+
 
     //Método de ayuda para crear un empleado de prueba con datos por defecto.
 
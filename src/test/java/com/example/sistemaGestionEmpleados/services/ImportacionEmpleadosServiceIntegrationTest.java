@@ -0,0 +1,102 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.EstadoImportacion;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionInvalidaException;
+import com.example.sistemaGestionEmpleados.exceptions.ImportacionNoEncontradaException;
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: cada lote se confirma en el hilo de la importación. Lotes de 2 filas para recorrer varios
+@SpringBootTest(properties = "app.importacion.lote=2")
+@ActiveProfiles("test")
+public class ImportacionEmpleadosServiceIntegrationTest {
+    @Autowired
+    private ImportacionEmpleadosService importacionService;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    private Departamento departamento;
+
+    @AfterEach
+    void limpiar() {
+        // El borrado del departamento se propaga a los empleados importados
+        if (departamento != null) {
+            departamentoService.eliminar(departamento.getId());
+            departamento = null;
+        }
+    }
+
+    @Test
+    void cuandoImportarCsv_entoncesCreaLasFilasValidasEInformaLasDemasConSuLinea() throws Exception {
+
+        departamento = crearDepartamento("Importaciones QA");
+        String csv = """
+                nombre;apellido;email;fechaContratacion;salario;departamento
+                Ana;Gómez;ana.importada@test.com;2024-01-15;1500.50;importaciones qa
+                "Juan; Pablo";Luna;juan.importado@test.com;2023-05-01;2000;Importaciones QA
+                Eva;Sosa;eva.importada@test.com;15/01/2024;1000;Importaciones QA
+
+                Leo;Paz;leo.importado@test.com;2024-02-01;900;Ventas Inexistente
+                Ana;Repetida;ana.importada@test.com;2024-03-01;1000;Importaciones QA
+                Mia;Ruiz;mia.importada@test.com;2024-04-01;1200;Importaciones QA
+                """;
+
+        EstadoImportacion inicial = importacionService.iniciar(archivo(csv));
+        EstadoImportacion estado = esperarFin(inicial.id());
+
+        assertEquals(EstadoImportacion.Estado.COMPLETADA, estado.estado());
+        assertEquals(6, estado.filasLeidas());
+        assertEquals(3, estado.filasCreadas());
+        assertEquals(3, estado.filasConError());
+        assertEquals(estado.bytesTotales(), estado.bytesLeidos());
+        // La línea 5 está vacía: los números de línea son los del archivo
+        assertEquals(List.of(4L, 6L, 7L), estado.errores().stream().map(EstadoImportacion.ErrorFila::fila).toList());
+        assertEquals(3, empleadoRepository.findIdsByDepartamentoId(departamento.getId()).size());
+        assertEquals("Juan; Pablo", empleadoRepository.findByEmail("juan.importado@test.com").orElseThrow().getNombre());
+    }
+
+    @Test
+    void cuandoAlEncabezadoLeFaltanColumnas_entoncesRechazaElArchivoSinCrearLaImportacion() {
+
+        ImportacionInvalidaException error = assertThrows(ImportacionInvalidaException.class, () ->
+                importacionService.iniciar(archivo("nombre,apellido,email\nAna,Gómez,ana@test.com\n")));
+
+        assertEquals("Faltan columnas en el encabezado: fechaContratacion, salario", error.getMessage());
+        assertThrows(ImportacionNoEncontradaException.class, () -> importacionService.obtenerEstado("inexistente"));
+    }
+
+    private MockMultipartFile archivo(String contenido) {
+        return new MockMultipartFile("archivo", "empleados.csv", "text/csv", contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Departamento crearDepartamento(String nombre) {
+        Departamento nuevo = new Departamento();
+        nuevo.setNombre(nombre);
+        return departamentoService.guardar(nuevo);
+    }
+
+    private EstadoImportacion esperarFin(String id) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 10_000;
+        EstadoImportacion estado = importacionService.obtenerEstado(id);
+        while (estado.fin() == null && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            estado = importacionService.obtenerEstado(id);
+        }
+        return estado;
+    }
+}
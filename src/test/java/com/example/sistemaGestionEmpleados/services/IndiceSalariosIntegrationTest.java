@@ -0,0 +1,138 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.config.IndiceSalariosEndpoint;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice se actualiza recién después del commit de cada escritura.
+// Los salarios de prueba están en una franja (987.650 a 987.660) que no usan los demás tests
+@SpringBootTest(properties = "app.indice-salarios.habilitado=true")
+@ActiveProfiles("test")
+public class IndiceSalariosIntegrationTest {
+    private static final BigDecimal DESDE = new BigDecimal("987650.00");
+    private static final BigDecimal HASTA = new BigDecimal("987660.00");
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private IndiceSalarios indiceSalarios;
+
+    @Autowired
+    private IndiceSalariosEndpoint indiceSalariosEndpoint;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void limpiar() {
+        creados.forEach(empleadoService::eliminar);
+        creados.clear();
+    }
+
+    @Test
+    void cuandoBuscarYContarPorRango_entoncesIncluyeLosLimitesYRespetaLosCentavos() {
+
+        Long bajo = crear("987651.00");
+        Long medio = crear("987652.50");
+        Long alto = crear("987653.00");
+
+        assertEquals(List.of(bajo, medio, alto), ids(empleadoService.buscarPorRangoSalario(new BigDecimal("987651"), new BigDecimal("987653"))));
+        assertEquals(List.of(medio), ids(empleadoService.buscarPorRangoSalario(new BigDecimal("987651.001"), new BigDecimal("987652.999"))));
+        assertEquals(3, empleadoService.contarPorRangoSalario(DESDE, HASTA));
+        assertEquals(0, empleadoService.contarPorRangoSalario(HASTA, DESDE));
+    }
+
+    @Test
+    void cuandoActualizarYEliminar_entoncesElIndiceReflejaLosCambios() {
+
+        Long id = crear("987651.00");
+        Empleado cambios = empleado("987655.00");
+        cambios.setEmail("actualizado.salarios@empresa.com");
+        empleadoService.actualizar(id, cambios);
+
+        assertEquals(0, empleadoService.contarPorRangoSalario(new BigDecimal("987651"), new BigDecimal("987651")));
+        assertEquals(List.of(id), ids(empleadoService.buscarPorRangoSalario(new BigDecimal("987655"), new BigDecimal("987655"))));
+
+        empleadoService.eliminar(id);
+        creados.remove(id);
+
+        assertEquals(0, empleadoService.contarPorRangoSalario(DESDE, HASTA));
+    }
+
+    @Test
+    void cuandoLaTransaccionHaceRollback_entoncesElSalarioNoEntraAlIndice() {
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.guardar(empleado("987652.00"));
+            estado.setRollbackOnly();
+        });
+
+        assertEquals(0, empleadoService.contarPorRangoSalario(DESDE, HASTA));
+    }
+
+    @Test
+    void cuandoSeEscribeSinPasarPorElServicio_entoncesLaVerificacionLoDetectaYReconstruirLoCorrige() {
+
+        // Los tests de otros contextos comparten la base y no pasan por este índice: se parte de una carga nueva
+        indiceSalarios.reconstruir();
+        Long id = crear("987654.00");
+        Empleado directo = empleadoRepository.findById(id).orElseThrow();
+        directo.setSalario(new BigDecimal("987656.00"));
+        empleadoRepository.save(directo);
+
+        IndiceSalarios.Verificacion verificacion = indiceSalariosEndpoint.verificar();
+
+        assertFalse(verificacion.consistente());
+        assertEquals(List.of(id), verificacion.idsFaltantes());
+        assertEquals(List.of(id), verificacion.idsSobrantes());
+
+        IndiceSalariosEndpoint.Reconstruccion reconstruccion = indiceSalariosEndpoint.reconstruir();
+
+        assertEquals(verificacion.empleadosEnBase(), reconstruccion.empleados());
+        assertTrue(indiceSalarios.verificar().consistente());
+        assertEquals(1, empleadoService.contarPorRangoSalario(new BigDecimal("987656"), new BigDecimal("987656")));
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private Long crear(String salario) {
+        Long id = empleadoService.guardar(empleado(salario)).getId();
+        creados.add(id);
+        return id;
+    }
+
+    private Empleado empleado(String salario) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Salario");
+        empleado.setApellido("Indexado");
+        empleado.setEmail("salario." + salario + "@empresa.com");
+        empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+        empleado.setSalario(new BigDecimal(salario));
+        return empleado;
+    }
+
+    private List<Long> ids(List<EmpleadoResumen> resumenes) {
+        return resumenes.stream().map(EmpleadoResumen::id).toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoSalario;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class IndiceSalariosTest {
+
+    private final EmpleadoRepository empleadoRepository = mock(EmpleadoRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final IndiceSalarios indice = new IndiceSalarios(empleadoRepository, transactionManager);
+
+    @Test
+    void cuandoHayEscriturasDuranteLaReconstruccion_entoncesNoEsperanYSeConservan() {
+
+        given(transactionManager.getTransaction(any())).willReturn(new SimpleTransactionStatus());
+        given(empleadoRepository.streamSalarios(any(Sort.class))).willAnswer(invocacion -> {
+            // Mientras se lee la base, otro hilo confirma una escritura y consulta el índice sin esperar la carga
+            CompletableFuture.runAsync(() -> indice.indexar(Map.of(3L, new BigDecimal("300.00"))))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(1, CompletableFuture.supplyAsync(() -> indice.contarEnRango(BigDecimal.ZERO, new BigDecimal("1000")))
+                    .get(5, TimeUnit.SECONDS));
+            return Stream.of(new EmpleadoSalario(1L, new BigDecimal("100.00")), new EmpleadoSalario(2L, new BigDecimal("200.00")));
+        });
+
+        assertEquals(3, indice.reconstruir());
+        assertArrayEquals(new long[]{1L, 2L, 3L}, indice.idsEnRango(BigDecimal.ZERO, new BigDecimal("1000")));
+    }
+}
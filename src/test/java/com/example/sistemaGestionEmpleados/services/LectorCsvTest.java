@@ -0,0 +1,63 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LectorCsvTest {
+
+    @Test
+    void cuandoHayCamposEntreComillas_entoncesRespetaSeparadoresComillasYSaltosDeLinea() throws IOException {
+
+        LectorCsv lector = lector("\uFEFFnombre,nota\n\"Gómez, Ana\",\"dijo \"\"hola\"\"\nen dos líneas\"\nLeo,\n");
+
+        assertEquals(List.of("nombre", "nota"), lector.siguiente());
+        assertEquals(List.of("Gómez, Ana", "dijo \"hola\"\nen dos líneas"), lector.siguiente());
+        assertEquals(2, lector.lineaDelRegistro());
+        assertEquals(List.of("Leo", ""), lector.siguiente());
+        assertEquals(4, lector.lineaDelRegistro());
+        assertNull(lector.siguiente());
+    }
+
+    @Test
+    void cuandoElEncabezadoUsaPuntoYComa_entoncesEseEsElSeparador() throws IOException {
+
+        LectorCsv lector = lector("nombre;salario\n\nAna;1500,50\n");
+
+        assertEquals(List.of("nombre", "salario"), lector.siguiente());
+        assertEquals(List.of("Ana", "1500,50"), lector.siguiente());
+        assertEquals(3, lector.lineaDelRegistro());
+    }
+
+    @Test
+    void cuandoLasComillasNoSeCierran_entoncesInformaLaLineaDelRegistro() throws IOException {
+
+        LectorCsv lector = lector("nombre\n\"Ana\n");
+
+        lector.siguiente();
+        IOException error = assertThrows(IOException.class, lector::siguiente);
+        assertEquals("Comillas sin cerrar en el registro de la línea 2", error.getMessage());
+    }
+
+    @Test
+    void cuandoUnaLineaSuperaElLargoMaximo_entoncesFallaSinLeerlaEntera() throws IOException {
+
+        String larga = "x".repeat(LectorCsv.LARGO_MAXIMO_REGISTRO + 1);
+        LectorCsv lector = lector("nombre\r\nAna\r\n" + larga + "\n");
+
+        assertEquals(List.of("nombre"), lector.siguiente());
+        assertEquals(List.of("Ana"), lector.siguiente());
+        assertEquals(2, lector.lineaDelRegistro());
+        IOException error = assertThrows(IOException.class, lector::siguiente);
+        assertEquals("La línea 3 supera el largo máximo de " + LectorCsv.LARGO_MAXIMO_REGISTRO + " caracteres", error.getMessage());
+    }
+
+    private LectorCsv lector(String contenido) {
+        return new LectorCsv(new BufferedReader(new StringReader(contenido)));
+    }
+}
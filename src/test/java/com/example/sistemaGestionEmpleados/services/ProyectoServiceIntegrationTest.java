@@ -1,5 +1,9 @@
 package com.example.sistemaGestionEmpleados.services;
 
+import com.example.sistemaGestionEmpleados.dtos.CambioMiembros;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoParcial;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ResultadoEliminacion;
 import com.example.sistemaGestionEmpleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistemaGestionEmpleados.models.Empleado;
 import com.example.sistemaGestionEmpleados.models.Proyecto;
@@ -14,6 +18,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -141,12 +146,12 @@ public class ProyectoServiceIntegrationTest {
         // Proyecto que finaliza hoy (no debería ser considerado activo por la consulta "After")
         proyectoService.guardar(crearProyectoDePrueba("Proyecto Finaliza Hoy", LocalDate.now().minusDays(5), LocalDate.now()));
 
-        List<Proyecto> proyectosActivos = proyectoService.buscarPorProyectosActivos();
+        List<ProyectoResumen> proyectosActivos = proyectoService.buscarPorProyectosActivos();
 
         assertNotNull(proyectosActivos);
         assertEquals(2, proyectosActivos.size());
         // Verificamos que los proyectos retornados son efectivamente los activos
-        assertTrue(proyectosActivos.stream().allMatch(p -> p.getNombre().startsWith("Proyecto Activo")));
+        assertTrue(proyectosActivos.stream().allMatch(p -> p.nombre().startsWith("Proyecto Activo")));
     }
 
 
@@ -225,6 +230,123 @@ public class ProyectoServiceIntegrationTest {
         assertTrue(empleadoActualizado.getProyectos().isEmpty());
     }
 
+    @Test
+    void cuandoReasignarConIdsInexistentes_entoncesSoloSeAgreganLosExistentes() {
+        Proyecto proyecto = proyectoService.guardar(crearProyectoDePrueba("Proyecto Parcial", LocalDate.now(), LocalDate.now().plusYears(1)));
+        Empleado empleado1 = empleadoRepository.save(crearEmpleadoDePrueba("empleado1@test.com"));
+        Empleado empleado2 = empleadoRepository.save(crearEmpleadoDePrueba("empleado2@test.com"));
+        proyectoService.asignarEmpleadosAProyecto(proyecto.getId(), Set.of(empleado1.getId()));
+
+        // Se mantiene empleado1, entra empleado2 y se ignora un ID que no existe
+        Proyecto proyectoActualizado = proyectoService.asignarEmpleadosAProyecto(proyecto.getId(),
+                Set.of(empleado1.getId(), empleado2.getId(), 999_999L));
+
+        Set<Long> idsEnProyecto = proyectoActualizado.getEmpleados().stream()
+                .map(Empleado::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(empleado1.getId(), empleado2.getId()), idsEnProyecto);
+    }
+
+    @Test
+    void cuandoAsignarEmpleadosAProyectoInexistente_entoncesLanzaProyectoNoEncontradoException() {
+
+        assertThrows(ProyectoNoEncontradoException.class, () -> {
+            proyectoService.asignarEmpleadosAProyecto(999L, Set.of(1L));
+        });
+    }
+
+    @Test
+    void cuandoAgregarYQuitarEmpleados_entoncesSoloCambianLosIndicados() {
+        Proyecto proyecto = proyectoService.guardar(crearProyectoDePrueba("Proyecto Incremental", LocalDate.now(), LocalDate.now().plusYears(1)));
+        Empleado empleado1 = empleadoRepository.save(crearEmpleadoDePrueba("empleado1@test.com"));
+        Empleado empleado2 = empleadoRepository.save(crearEmpleadoDePrueba("empleado2@test.com"));
+        Empleado empleado3 = empleadoRepository.save(crearEmpleadoDePrueba("empleado3@test.com"));
+        proyectoService.asignarEmpleadosAProyecto(proyecto.getId(), Set.of(empleado1.getId()));
+
+        // empleado1 ya es miembro: solo se agregan empleado2 y empleado3
+        CambioMiembros agregados = proyectoService.agregarEmpleadosAProyecto(proyecto.getId(),
+                Set.of(empleado1.getId(), empleado2.getId(), empleado3.getId()));
+        // empleado2 deja el proyecto; el ID inexistente se ignora
+        CambioMiembros quitados = proyectoService.quitarEmpleadosDeProyecto(proyecto.getId(),
+                Set.of(empleado2.getId(), 999_999L));
+
+        assertEquals(2, agregados.modificados());
+        assertEquals(1, quitados.modificados());
+        assertEquals(Set.of(empleado1.getId(), empleado3.getId()),
+                new HashSet<>(proyectoRepository.findIdsEmpleados(proyecto.getId())));
+    }
+
+    @Test
+    void cuandoCambianLosMiembros_entoncesCambiaElEtagDelProyecto() {
+        Proyecto proyecto = proyectoService.guardar(crearProyectoDePrueba("Proyecto Etiquetado", LocalDate.now(), LocalDate.now().plusYears(1)));
+        Empleado empleado = empleadoRepository.save(crearEmpleadoDePrueba("etag@test.com"));
+
+        String inicial = proyectoService.obtenerEtag(proyecto.getId());
+        assertEquals(inicial, proyectoService.obtenerEtag(proyecto.getId()));
+
+        // La membresía se cambia por SQL nativo sin tocar la versión del proyecto: el ETag igual debe cambiar
+        proyectoService.agregarEmpleadosAProyecto(proyecto.getId(), Set.of(empleado.getId()));
+
+        assertNotEquals(inicial, proyectoService.obtenerEtag(proyecto.getId()));
+        assertThrows(ProyectoNoEncontradoException.class, () -> proyectoService.obtenerEtag(999_999L));
+    }
+
+    @Test
+    void cuandoSeIntercambianMiembrosEntreProyectos_entoncesCambiaElEtagDelListado() {
+        Proyecto proyecto1 = proyectoService.guardar(crearProyectoDePrueba("Proyecto Uno", LocalDate.now(), LocalDate.now().plusYears(1)));
+        Proyecto proyecto2 = proyectoService.guardar(crearProyectoDePrueba("Proyecto Dos", LocalDate.now(), LocalDate.now().plusYears(1)));
+        Empleado empleado1 = empleadoRepository.save(crearEmpleadoDePrueba("intercambio1@test.com"));
+        Empleado empleado2 = empleadoRepository.save(crearEmpleadoDePrueba("intercambio2@test.com"));
+        proyectoService.agregarEmpleadosAProyecto(proyecto1.getId(), Set.of(empleado1.getId()));
+        proyectoService.agregarEmpleadosAProyecto(proyecto2.getId(), Set.of(empleado2.getId()));
+
+        String inicial = proyectoService.obtenerEtagListado();
+
+        // Misma cantidad de filas y mismas sumas de IDs de empleado y de proyecto, pero otros pares
+        proyectoService.quitarEmpleadosDeProyecto(proyecto1.getId(), Set.of(empleado1.getId()));
+        proyectoService.quitarEmpleadosDeProyecto(proyecto2.getId(), Set.of(empleado2.getId()));
+        proyectoService.agregarEmpleadosAProyecto(proyecto1.getId(), Set.of(empleado2.getId()));
+        proyectoService.agregarEmpleadosAProyecto(proyecto2.getId(), Set.of(empleado1.getId()));
+
+        assertNotEquals(inicial, proyectoService.obtenerEtagListado());
+    }
+
+
+    @Test
+    void cuandoActualizarParcialmente_entoncesCambiaSoloLaFechaYElEtag() {
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+        Proyecto proyecto = proyectoService.guardar(crearProyectoDePrueba("Proyecto Parche", inicio, inicio.plusMonths(6)));
+        String etagAnterior = proyectoService.obtenerEtag(proyecto.getId());
+
+        proyectoService.actualizarParcial(proyecto.getId(), new ProyectoParcial(null, null, null, inicio.plusYears(1)));
+
+        Proyecto actualizado = proyectoRepository.findById(proyecto.getId()).orElseThrow();
+        assertEquals(inicio.plusYears(1), actualizado.getFechaFin());
+        assertEquals("Proyecto Parche", actualizado.getNombre());
+        assertEquals(inicio, actualizado.getFechaInicio());
+        assertNotEquals(etagAnterior, proyectoService.obtenerEtag(proyecto.getId()));
+        assertThrows(ProyectoNoEncontradoException.class, () ->
+                proyectoService.actualizarParcial(999_999L, new ProyectoParcial("Nadie", null, null, null)));
+    }
+
+    @Test
+    void cuandoEliminarFinalizadosConMiembros_entoncesBorraLosProyectosYConservaLosEmpleados() {
+        LocalDate hoy = LocalDate.now();
+        Proyecto terminado = proyectoService.guardar(crearProyectoDePrueba("Proyecto Cerrado", hoy.minusYears(2), hoy.minusYears(1)));
+        Proyecto vigente = proyectoService.guardar(crearProyectoDePrueba("Proyecto Abierto", hoy.minusYears(1), hoy.plusYears(1)));
+        Empleado empleado = empleadoRepository.save(crearEmpleadoDePrueba("miembro@test.com"));
+        proyectoService.agregarEmpleadosAProyecto(terminado.getId(), Set.of(empleado.getId()));
+        proyectoService.agregarEmpleadosAProyecto(vigente.getId(), Set.of(empleado.getId()));
+
+        ResultadoEliminacion resultado = proyectoService.eliminarFinalizadosAntesDe(hoy);
+
+        assertEquals(1, resultado.eliminados());
+        assertFalse(proyectoRepository.existsById(terminado.getId()));
+        assertTrue(empleadoRepository.existsById(empleado.getId()));
+        assertEquals(List.of(empleado.getId()), proyectoRepository.findIdsEmpleados(vigente.getId()));
+        assertEquals(new ResultadoEliminacion(2, 1),
+                proyectoService.eliminarLote(Set.of(vigente.getId(), 999_999L)));
+    }
 
     // --- Métodos de Ayuda ---
 
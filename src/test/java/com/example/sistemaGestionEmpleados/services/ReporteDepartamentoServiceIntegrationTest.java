@@ -0,0 +1,159 @@
+package com.example.sistemaGestionEmpleados.services;
+
+import com.example.sistemaGestionEmpleados.dtos.DepartamentoResumen;
+import com.example.sistemaGestionEmpleados.dtos.EmpleadoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ProyectoResumen;
+import com.example.sistemaGestionEmpleados.dtos.ReporteDepartamento;
+import com.example.sistemaGestionEmpleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistemaGestionEmpleados.exceptions.ReporteNoDisponibleException;
+import com.example.sistemaGestionEmpleados.models.Departamento;
+import com.example.sistemaGestionEmpleados.models.Empleado;
+import com.example.sistemaGestionEmpleados.models.Proyecto;
+import com.example.sistemaGestionEmpleados.repositories.DepartamentoRepository;
+import com.example.sistemaGestionEmpleados.repositories.EmpleadoRepository;
+import com.example.sistemaGestionEmpleados.repositories.ProyectoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+// Sin transacción de test: las consultas del reporte corren en otros hilos y solo ven datos confirmados
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReporteDepartamentoServiceIntegrationTest {
+    @Autowired
+    private ReporteDepartamentoService reporteDepartamentoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        limpiar();
+    }
+
+    @AfterEach
+    void limpiar() {
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+    }
+
+    @Test
+    void cuandoGenerarReporte_entoncesIncluyeEmpleadosPromedioYProyectosActivosDelDepartamento() {
+
+        Departamento ventas = departamentoRepository.save(crearDepartamento("Ventas"));
+        Departamento compras = departamentoRepository.save(crearDepartamento("Compras"));
+        Proyecto activo = proyectoRepository.save(crearProyecto("CRM", LocalDate.now().plusMonths(6)));
+        Proyecto terminado = proyectoRepository.save(crearProyecto("Migración", LocalDate.now().minusMonths(1)));
+        Proyecto deOtroDepartamento = proyectoRepository.save(crearProyecto("Proveedores", LocalDate.now().plusMonths(6)));
+        empleadoRepository.save(crearEmpleado("ana@test.com", "40000.00", ventas, Set.of(activo, terminado)));
+        empleadoRepository.save(crearEmpleado("luis@test.com", "60000.00", ventas, Set.of()));
+        empleadoRepository.save(crearEmpleado("eva@test.com", "90000.00", compras, Set.of(deOtroDepartamento)));
+
+        ReporteDepartamento reporte = reporteDepartamentoService.generar(ventas.getId());
+
+        assertEquals(new DepartamentoResumen(ventas.getId(), "Ventas", null, 2L), reporte.departamento());
+        assertEquals(0, new BigDecimal("50000").compareTo(reporte.salarioPromedio()));
+        assertEquals(Set.of("ana@test.com", "luis@test.com"),
+                reporte.empleados().stream().map(EmpleadoResumen::email).collect(Collectors.toSet()));
+        assertEquals(1, reporte.proyectosActivos().size());
+        ProyectoResumen proyecto = reporte.proyectosActivos().get(0);
+        assertEquals("CRM", proyecto.nombre());
+        assertEquals(1L, proyecto.cantidadEmpleados());
+    }
+
+    @Test
+    void cuandoGenerarReporteDeDepartamentoSinEmpleados_entoncesElPromedioEsCero() {
+
+        Departamento vacio = departamentoRepository.save(crearDepartamento("Vacío"));
+
+        ReporteDepartamento reporte = reporteDepartamentoService.generar(vacio.getId());
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(reporte.salarioPromedio()));
+        assertTrue(reporte.empleados().isEmpty());
+        assertTrue(reporte.proyectosActivos().isEmpty());
+    }
+
+    @Test
+    void cuandoGenerarReporteDeDepartamentoInexistente_entoncesLanzaDepartamentoNoEncontradoException() {
+
+        DepartamentoNoEncontradoException exception = assertThrows(DepartamentoNoEncontradoException.class,
+                () -> reporteDepartamentoService.generar(999L));
+
+        assertEquals("Departamento no encontrado con ID: 999", exception.getMessage());
+    }
+
+    @Test
+    void cuandoUnaConsultaSuperaElPlazo_entoncesLanzaReporteNoDisponibleException() {
+
+        DepartamentoRepository lento = mock(DepartamentoRepository.class);
+        given(lento.findResumenById(anyLong())).willAnswer(invocacion -> {
+            Thread.sleep(5000);
+            return Optional.empty();
+        });
+        ReporteDepartamentoServiceImpl conPlazoCorto = new ReporteDepartamentoServiceImpl(lento, empleadoRepository,
+                proyectoRepository, transactionManager, 4, 16, Duration.ofMillis(100));
+
+        try {
+            long inicio = System.nanoTime();
+            assertThrows(ReporteNoDisponibleException.class, () -> conPlazoCorto.generar(1L));
+            assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 5000);
+        } finally {
+            conPlazoCorto.cerrar();
+        }
+    }
+
+    // --- Métodos de Ayuda ---
+
+    private Departamento crearDepartamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        return departamento;
+    }
+
+    private Proyecto crearProyecto(String nombre, LocalDate fechaFin) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(LocalDate.now().minusYears(1));
+        proyecto.setFechaFin(fechaFin);
+        return proyecto;
+    }
+
+    private Empleado crearEmpleado(String email, String salario, Departamento departamento, Set<Proyecto> proyectos) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Empleado");
+        empleado.setApellido("Reporte");
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+        empleado.setSalario(new BigDecimal(salario));
+        empleado.setDepartamento(departamento);
+        empleado.setProyectos(new HashSet<>(proyectos));
+        return empleado;
+    }
+}